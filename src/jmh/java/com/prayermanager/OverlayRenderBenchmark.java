@@ -0,0 +1,179 @@
+package com.prayermanager;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.Prayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Frame cost of both overlays on an offscreen canvas. Run with {@code ./gradlew jmh}, which
+ * enables the gc profiler so every result also reports bytes allocated per frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverlayRenderBenchmark
+{
+    public enum Scenario
+    {
+        // Nothing changes between frames
+        IDLE_GRID,
+        // The cursor moves to the next point across the panel before every frame, which the frame
+        // resolves to a hovered tile
+        HOVER_SWEEP,
+        // Every quick prayer selection flips before every frame
+        TRANSITION_STORM,
+        // Idle panel laid out with 8 columns instead of the default 5
+        EIGHT_COLUMNS
+    }
+
+    private static final Prayer[] PRAYERS = Prayer.values();
+
+    // Spacing of the hover sweep, smaller than a tile so gaps and edges are hit too
+    private static final int SWEEP_STEP = 7;
+
+    /**
+     * Both overlays in the default config, and a cursor sweep over the panel.
+     */
+    @State(Scope.Thread)
+    public static class FixtureState
+    {
+        HeadlessFixture fixture;
+        PrayerManagerOverlay overlay;
+        PrayerTimingOverlay timingOverlay;
+        Graphics2D graphics;
+
+        MouseEvent[] sweep;
+        Point[] sweepPoints;
+        private int sweepIndex;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            fixture = new HeadlessFixture();
+            overlay = fixture.getOverlay();
+            timingOverlay = fixture.getTimingOverlay();
+            graphics = HeadlessFixture.createGraphics(HeadlessFixture.createCanvas());
+            configure();
+
+            // First frame publishes the panel geometry the sweep is built from
+            overlay.render(graphics);
+            sweep = createSweep(overlay.getBounds());
+            sweepPoints = new Point[sweep.length];
+            for (int i = 0; i < sweep.length; i++)
+            {
+                sweepPoints[i] = sweep[i].getPoint();
+            }
+        }
+
+        void configure()
+        {
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            graphics.dispose();
+        }
+
+        private MouseEvent[] createSweep(Rectangle bounds)
+        {
+            int columns = (bounds.width + SWEEP_STEP - 1) / SWEEP_STEP;
+            int rows = (bounds.height + SWEEP_STEP - 1) / SWEEP_STEP;
+            MouseEvent[] events = new MouseEvent[columns * rows];
+            for (int row = 0; row < rows; row++)
+            {
+                for (int col = 0; col < columns; col++)
+                {
+                    events[row * columns + col] = fixture.mouseEvent(MouseEvent.MOUSE_MOVED,
+                        bounds.x + col * SWEEP_STEP, bounds.y + row * SWEEP_STEP);
+                }
+            }
+            return events;
+        }
+
+        int nextSweepIndex()
+        {
+            int index = sweepIndex;
+            sweepIndex = (index + 1) % sweep.length;
+            return index;
+        }
+    }
+
+    /**
+     * The panel in one {@link Scenario}. The scenario's change is made before each invocation, so
+     * a TRANSITION_STORM result is the frame alone and not the varbit events that flip the selection.
+     */
+    @State(Scope.Thread)
+    public static class PanelState extends FixtureState
+    {
+        @Param
+        public Scenario scenario;
+
+        private boolean selected;
+
+        @Override
+        void configure()
+        {
+            if (scenario == Scenario.EIGHT_COLUMNS)
+            {
+                fixture.setConfig("gridColumns", 8);
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void advance()
+        {
+            switch (scenario)
+            {
+                case HOVER_SWEEP:
+                    overlay.handleMouseMove(sweep[nextSweepIndex()]);
+                    break;
+                case TRANSITION_STORM:
+                    selected = !selected;
+                    for (Prayer prayer : PRAYERS)
+                    {
+                        fixture.setQuickPrayerSelected(prayer, selected);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public Object renderPrayerPanel(PanelState state)
+    {
+        return state.overlay.render(state.graphics);
+    }
+
+    @Benchmark
+    public Object renderTimingBar(FixtureState state)
+    {
+        return state.timingOverlay.render(state.graphics);
+    }
+
+    @Benchmark
+    public Prayer getPrayerAtPoint(FixtureState state)
+    {
+        return state.overlay.getPrayerAtPoint(state.sweepPoints[state.nextSweepIndex()]);
+    }
+}
@@ -0,0 +1,58 @@
+package com.prayermanager;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayLayer;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.OverlayPriority;
+
+/**
+ * Debug readout of the {@link ActionLatencyTracer} histograms and tick counters. Draws nothing
+ * while tracing is off.
+ */
+@Singleton
+public class ActionLatencyOverlay extends Overlay
+{
+    private static final Color MISSED_COLOR = new Color(255, 96, 96);
+
+    private static final ActionLatencyTracer.Stage[] STAGES = ActionLatencyTracer.Stage.values();
+
+    @Inject
+    private ActionLatencyTracer tracer;
+
+    public ActionLatencyOverlay()
+    {
+        // The render profiler readout already sits top left
+        setPosition(OverlayPosition.TOP_RIGHT);
+        setPriority(OverlayPriority.LOW);
+        setLayer(OverlayLayer.ABOVE_WIDGETS);
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics)
+    {
+        if (!tracer.isEnabled())
+        {
+            return null;
+        }
+
+        Dimension size = PercentileTable.drawFrame(graphics, "Click (ms)", STAGES.length + 2);
+        for (int i = 0; i < STAGES.length; i++)
+        {
+            ActionLatencyTracer.Stage stage = STAGES[i];
+            PercentileTable.drawHistogram(graphics, i + 1, stage.getLabel(), tracer.getHistogram(stage),
+                PercentileTable.MILLIS);
+        }
+
+        PercentileTable.drawText(graphics, STAGES.length + 1, "Acknowledged: " + tracer.getAcknowledgedCount());
+        long missed = tracer.getMissedTickCount() + tracer.getUnacknowledgedCount();
+        graphics.setColor(missed > 0 ? MISSED_COLOR : Color.WHITE);
+        PercentileTable.drawText(graphics, STAGES.length + 2, "Missed tick: " + tracer.getMissedTickCount()
+            + "  No ack: " + tracer.getUnacknowledgedCount());
+        return size;
+    }
+}
@@ -0,0 +1,354 @@
+package com.prayermanager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.client.RuneLite;
+
+/**
+ * Traces prayer clicks from the mouse event to the varbit change that acknowledges them. Each
+ * action is stamped with {@code System.nanoTime()} at the click, when its client thread task
+ * starts, after {@code menuAction} returns and when the first change of its varbit arrives.
+ * Stage latencies go into histograms and the last {@link #RECENT_CAPACITY} completed actions are
+ * kept for export. An action misses the tick when its acknowledgement arrives more than one game
+ * tick after it was dispatched; actions without an acknowledgement after
+ * {@link #ACK_TIMEOUT_TICKS} ticks are dropped and counted separately.
+ * <p>
+ * {@link #onClick()} may be called from any thread, everything else runs on the client thread.
+ * While tracing is off {@code onClick} returns 0 without reading the clock and the other calls
+ * return immediately.
+ */
+@Singleton
+public class ActionLatencyTracer
+{
+    private static final AsyncLog log = AsyncLog.getLogger(ActionLatencyTracer.class);
+
+    static final int ACK_TIMEOUT_TICKS = 5;
+
+    private static final int PENDING_CAPACITY = 32;
+    private static final int RECENT_CAPACITY = 256;
+    private static final int NO_ACTION = -1;
+
+    enum Stage
+    {
+        CLIENT_THREAD("Click > task", 100_000),
+        MENU_ACTION("menuAction", 100_000),
+        ACKNOWLEDGE("Sent > varbit", 1_000_000),
+        TOTAL("Click > varbit", 1_000_000);
+
+        private final String label;
+        private final long nanosPerBucket;
+
+        Stage(String label, long nanosPerBucket)
+        {
+            this.label = label;
+            this.nanosPerBucket = nanosPerBucket;
+        }
+
+        String getLabel()
+        {
+            return label;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    @Inject
+    private Client client;
+
+    private final FrameTimeHistogram[] histograms = new FrameTimeHistogram[STAGES.length];
+
+    // Actions waiting for their varbit, indexed by action id modulo the capacity
+    private final int[] pendingId = new int[PENDING_CAPACITY];
+    private final int[] pendingVarbit = new int[PENDING_CAPACITY];
+    private final int[] pendingTick = new int[PENDING_CAPACITY];
+    private final long[] pendingClick = new long[PENDING_CAPACITY];
+    private final long[] pendingDispatch = new long[PENDING_CAPACITY];
+    private final long[] pendingMenuAction = new long[PENDING_CAPACITY];
+    private int nextId;
+
+    // Completed actions, oldest overwritten first
+    private final int[] recentId = new int[RECENT_CAPACITY];
+    private final int[] recentVarbit = new int[RECENT_CAPACITY];
+    private final int[] recentTicks = new int[RECENT_CAPACITY];
+    private final long[][] recentStages = new long[STAGES.length][RECENT_CAPACITY];
+    private int recentNext;
+    private int recentCount;
+
+    private long acknowledged;
+    private long missedTick;
+    private long unacknowledged;
+
+    private volatile boolean enabled;
+
+    public ActionLatencyTracer()
+    {
+        for (Stage stage : STAGES)
+        {
+            histograms[stage.ordinal()] = new FrameTimeHistogram(stage.nanosPerBucket);
+        }
+        Arrays.fill(pendingId, NO_ACTION);
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Turns tracing on or off. Turning it on starts from an empty trace.
+     */
+    public void setEnabled(boolean enabled)
+    {
+        if (enabled && !this.enabled)
+        {
+            reset();
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Click timestamp for a new action, 0 when tracing is off.
+     */
+    long onClick()
+    {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Registers an action when its client thread task starts.
+     *
+     * @param clickNanos the value {@link #onClick()} returned for the click
+     * @param varbitId   the varbit whose next change acknowledges the action
+     * @return the action id to pass to {@link #onMenuAction(int)}, -1 when not traced
+     */
+    int onDispatch(long clickNanos, int varbitId)
+    {
+        if (clickNanos == 0L || varbitId == -1 || !enabled)
+        {
+            return NO_ACTION;
+        }
+
+        int id = nextId++ & Integer.MAX_VALUE;
+        int slot = id % PENDING_CAPACITY;
+        if (pendingId[slot] != NO_ACTION)
+        {
+            // Too many actions in flight, the one being replaced will never be matched
+            unacknowledged++;
+        }
+
+        pendingId[slot] = id;
+        pendingVarbit[slot] = varbitId;
+        pendingTick[slot] = client.getTickCount();
+        pendingClick[slot] = clickNanos;
+        pendingDispatch[slot] = System.nanoTime();
+        pendingMenuAction[slot] = 0L;
+        return id;
+    }
+
+    void onMenuAction(int id)
+    {
+        if (id == NO_ACTION)
+        {
+            return;
+        }
+
+        int slot = id % PENDING_CAPACITY;
+        if (pendingId[slot] == id)
+        {
+            pendingMenuAction[slot] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Completes the oldest pending action waiting for this varbit, if any.
+     */
+    void onVarbitChanged(int varbitId)
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        int oldest = -1;
+        for (int slot = 0; slot < PENDING_CAPACITY; slot++)
+        {
+            if (pendingId[slot] != NO_ACTION && pendingVarbit[slot] == varbitId
+                && (oldest == -1 || pendingId[slot] - pendingId[oldest] < 0))
+            {
+                oldest = slot;
+            }
+        }
+
+        if (oldest != -1)
+        {
+            complete(oldest, System.nanoTime(), client.getTickCount());
+        }
+    }
+
+    /**
+     * Drops actions that were not acknowledged within {@link #ACK_TIMEOUT_TICKS} ticks.
+     */
+    void onGameTick()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        int tick = client.getTickCount();
+        for (int slot = 0; slot < PENDING_CAPACITY; slot++)
+        {
+            if (pendingId[slot] != NO_ACTION && tick - pendingTick[slot] > ACK_TIMEOUT_TICKS)
+            {
+                pendingId[slot] = NO_ACTION;
+                unacknowledged++;
+            }
+        }
+    }
+
+    private void complete(int slot, long ackNanos, int ackTick)
+    {
+        long click = pendingClick[slot];
+        long dispatch = pendingDispatch[slot];
+        // menuAction threw or was never reached, attribute the whole wait to the acknowledgement
+        long menuAction = pendingMenuAction[slot] != 0L ? pendingMenuAction[slot] : dispatch;
+        int ticks = ackTick - pendingTick[slot];
+
+        int recent = recentNext;
+        recentId[recent] = pendingId[slot];
+        recentVarbit[recent] = pendingVarbit[slot];
+        recentTicks[recent] = ticks;
+        record(Stage.CLIENT_THREAD, recent, dispatch - click);
+        record(Stage.MENU_ACTION, recent, menuAction - dispatch);
+        record(Stage.ACKNOWLEDGE, recent, ackNanos - menuAction);
+        record(Stage.TOTAL, recent, ackNanos - click);
+        recentNext = (recent + 1) % RECENT_CAPACITY;
+        recentCount = Math.min(recentCount + 1, RECENT_CAPACITY);
+
+        pendingId[slot] = NO_ACTION;
+        acknowledged++;
+        if (ticks > 1)
+        {
+            missedTick++;
+        }
+    }
+
+    private void record(Stage stage, int recent, long nanos)
+    {
+        histograms[stage.ordinal()].record(nanos);
+        recentStages[stage.ordinal()][recent] = nanos;
+    }
+
+    FrameTimeHistogram getHistogram(Stage stage)
+    {
+        return histograms[stage.ordinal()];
+    }
+
+    long getAcknowledgedCount()
+    {
+        return acknowledged;
+    }
+
+    long getMissedTickCount()
+    {
+        return missedTick;
+    }
+
+    long getUnacknowledgedCount()
+    {
+        return unacknowledged;
+    }
+
+    void reset()
+    {
+        for (FrameTimeHistogram histogram : histograms)
+        {
+            histogram.reset();
+        }
+        Arrays.fill(pendingId, NO_ACTION);
+        recentNext = 0;
+        recentCount = 0;
+        acknowledged = 0;
+        missedTick = 0;
+        unacknowledged = 0;
+    }
+
+    /**
+     * Writes p50/p99/max of every stage and the tick counters to the log.
+     */
+    void logSummary()
+    {
+        if (acknowledged == 0 && unacknowledged == 0)
+        {
+            return;
+        }
+
+        for (Stage stage : STAGES)
+        {
+            FrameTimeHistogram histogram = getHistogram(stage);
+            log.info(String.format("Click latency %-14s n=%d p50=%dus p99=%dus max=%dus",
+                stage.getLabel(),
+                histogram.getCount(),
+                histogram.getPercentile(50) / 1_000,
+                histogram.getPercentile(99) / 1_000,
+                histogram.getMax() / 1_000));
+        }
+        log.info(String.format("Click latency acknowledged=%d missed tick=%d unacknowledged=%d",
+            acknowledged, missedTick, unacknowledged));
+    }
+
+    /**
+     * The completed actions still held, oldest first, as CSV with stage latencies in
+     * microseconds. Call on the client thread.
+     */
+    String toCsv()
+    {
+        StringBuilder csv = new StringBuilder("action,varbit,ticks");
+        for (Stage stage : STAGES)
+        {
+            csv.append(',').append(stage.name().toLowerCase()).append("_us");
+        }
+        csv.append('\n');
+
+        int first = (recentNext - recentCount + RECENT_CAPACITY) % RECENT_CAPACITY;
+        for (int i = 0; i < recentCount; i++)
+        {
+            int recent = (first + i) % RECENT_CAPACITY;
+            csv.append(recentId[recent]).append(',')
+                .append(recentVarbit[recent]).append(',')
+                .append(recentTicks[recent]);
+            for (Stage stage : STAGES)
+            {
+                csv.append(',').append(recentStages[stage.ordinal()][recent] / 1_000);
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Writes a {@link #toCsv()} export to a new timestamped file under
+     * {@code .runelite/prayermanager}. Does file IO, keep it off the client thread.
+     */
+    static File writeCsv(String csv) throws IOException
+    {
+        File directory = new File(RuneLite.RUNELITE_DIR, "prayermanager");
+        if (!directory.isDirectory() && !directory.mkdirs())
+        {
+            throw new IOException("Could not create " + directory);
+        }
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File file = new File(directory, "click-latency-" + timestamp + ".csv");
+        Files.write(file.toPath(), csv.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
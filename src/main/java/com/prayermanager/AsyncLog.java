@@ -0,0 +1,279 @@
+package com.prayermanager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Plugin diagnostics that never block the calling thread. A call below the underlying
+ * {@link Logger}'s level returns after one level check. Anything else stores its pattern and
+ * arguments in a preallocated ring buffer; a daemon thread formats the {@code {}} placeholders and
+ * hands the result to java.util.logging. When the ring is full the message is dropped and counted
+ * instead of waiting. Arguments are formatted later on the drain thread, so pass immutable values.
+ */
+final class AsyncLog
+{
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+    private static final long DRAIN_INTERVAL_NANOS = 50_000_000L;
+    private static final long SHUTDOWN_WAIT_MILLIS = 500;
+
+    // Ring slots, a slot is readable once published holds its sequence number
+    private static final AtomicLong head = new AtomicLong();
+    private static volatile long tail;
+    private static final AtomicLongArray published = new AtomicLongArray(CAPACITY);
+    private static final Logger[] loggers = new Logger[CAPACITY];
+    private static final Level[] levels = new Level[CAPACITY];
+    private static final String[] patterns = new String[CAPACITY];
+    private static final Object[] firstArgs = new Object[CAPACITY];
+    private static final Object[] secondArgs = new Object[CAPACITY];
+    private static final Object[] thirdArgs = new Object[CAPACITY];
+    private static final Throwable[] thrown = new Throwable[CAPACITY];
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private static final Object drainerLock = new Object();
+    private static volatile Thread drainer;
+
+    static
+    {
+        for (int slot = 0; slot < CAPACITY; slot++)
+        {
+            published.set(slot, -1);
+        }
+    }
+
+    private final Logger logger;
+
+    private AsyncLog(Logger logger)
+    {
+        this.logger = logger;
+    }
+
+    static AsyncLog getLogger(Class<?> type)
+    {
+        return new AsyncLog(Logger.getLogger(type.getName()));
+    }
+
+    boolean isDebugEnabled()
+    {
+        return logger.isLoggable(Level.FINE);
+    }
+
+    void debug(String pattern)
+    {
+        log(Level.FINE, pattern, null, null, null, null);
+    }
+
+    void debug(String pattern, Object arg)
+    {
+        log(Level.FINE, pattern, arg, null, null, null);
+    }
+
+    void debug(String pattern, Object arg1, Object arg2)
+    {
+        log(Level.FINE, pattern, arg1, arg2, null, null);
+    }
+
+    void debug(String pattern, Object arg1, Object arg2, Object arg3)
+    {
+        log(Level.FINE, pattern, arg1, arg2, arg3, null);
+    }
+
+    void info(String pattern)
+    {
+        log(Level.INFO, pattern, null, null, null, null);
+    }
+
+    void info(String pattern, Object arg)
+    {
+        log(Level.INFO, pattern, arg, null, null, null);
+    }
+
+    void info(String pattern, Object arg1, Object arg2)
+    {
+        log(Level.INFO, pattern, arg1, arg2, null, null);
+    }
+
+    void info(String pattern, Object arg1, Object arg2, Object arg3)
+    {
+        log(Level.INFO, pattern, arg1, arg2, arg3, null);
+    }
+
+    void warn(String pattern)
+    {
+        log(Level.WARNING, pattern, null, null, null, null);
+    }
+
+    void warn(String pattern, Object arg)
+    {
+        log(Level.WARNING, pattern, arg, null, null, null);
+    }
+
+    void warn(String pattern, Object arg1, Object arg2)
+    {
+        log(Level.WARNING, pattern, arg1, arg2, null, null);
+    }
+
+    void warn(String pattern, Object arg1, Object arg2, Object arg3)
+    {
+        log(Level.WARNING, pattern, arg1, arg2, arg3, null);
+    }
+
+    void log(Level level, String message, Throwable throwable)
+    {
+        log(level, message, null, null, null, throwable);
+    }
+
+    private void log(Level level, String pattern, Object arg1, Object arg2, Object arg3, Throwable throwable)
+    {
+        if (!logger.isLoggable(level))
+        {
+            return;
+        }
+
+        long sequence;
+        do
+        {
+            sequence = head.get();
+            if (sequence - tail >= CAPACITY)
+            {
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+        while (!head.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & MASK);
+        loggers[slot] = logger;
+        levels[slot] = level;
+        patterns[slot] = pattern;
+        firstArgs[slot] = arg1;
+        secondArgs[slot] = arg2;
+        thirdArgs[slot] = arg3;
+        thrown[slot] = throwable;
+        published.lazySet(slot, sequence);
+
+        if (drainer == null)
+        {
+            startDrainer();
+        }
+    }
+
+    private static void startDrainer()
+    {
+        synchronized (drainerLock)
+        {
+            if (drainer != null)
+            {
+                return;
+            }
+
+            Thread thread = new Thread(AsyncLog::runDrainer, "prayermanager-log");
+            thread.setDaemon(true);
+            drainer = thread;
+            thread.start();
+        }
+    }
+
+    private static void runDrainer()
+    {
+        Thread self = Thread.currentThread();
+        while (drainer == self)
+        {
+            synchronized (drainerLock)
+            {
+                drain();
+            }
+            LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+        }
+    }
+
+    /**
+     * Stops the drain thread after writing out whatever is still queued. The next message
+     * starts a new one.
+     */
+    static void shutdown()
+    {
+        Thread thread;
+        synchronized (drainerLock)
+        {
+            thread = drainer;
+            drainer = null;
+        }
+
+        if (thread != null)
+        {
+            LockSupport.unpark(thread);
+            try
+            {
+                thread.join(SHUTDOWN_WAIT_MILLIS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (drainerLock)
+        {
+            drain();
+        }
+    }
+
+    // Callers hold drainerLock, a drainer started after shutdown must not race the final drain
+    // or one that outlived the shutdown wait
+    private static void drain()
+    {
+        long next = tail;
+        while (true)
+        {
+            int slot = (int) (next & MASK);
+            if (published.get(slot) != next)
+            {
+                break;
+            }
+
+            Logger logger = loggers[slot];
+            Level level = levels[slot];
+            String pattern = patterns[slot];
+            Object arg1 = firstArgs[slot];
+            Object arg2 = secondArgs[slot];
+            Object arg3 = thirdArgs[slot];
+            Throwable throwable = thrown[slot];
+            firstArgs[slot] = secondArgs[slot] = thirdArgs[slot] = null;
+            thrown[slot] = null;
+
+            // Free the slot before the slow part
+            tail = ++next;
+            logger.log(level, format(pattern, arg1, arg2, arg3), throwable);
+        }
+
+        long lost = dropped.getAndSet(0);
+        if (lost > 0)
+        {
+            Logger.getLogger(AsyncLog.class.getName()).warning("Dropped " + lost + " log messages, the log buffer was full");
+        }
+    }
+
+    private static String format(String pattern, Object arg1, Object arg2, Object arg3)
+    {
+        if (arg1 == null && arg2 == null && arg3 == null)
+        {
+            return pattern;
+        }
+
+        StringBuilder out = new StringBuilder(pattern.length() + 32);
+        Object[] args = {arg1, arg2, arg3};
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < args.length && (placeholder = pattern.indexOf("{}", start)) != -1)
+        {
+            out.append(pattern, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
+        }
+        return out.append(pattern, start, pattern.length()).toString();
+    }
+}
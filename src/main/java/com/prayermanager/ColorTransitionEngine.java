@@ -0,0 +1,144 @@
+package com.prayermanager;
+
+import java.awt.Color;
+
+/**
+ * Background colour transitions for a fixed set of slots (one per prayer tile plus the quick
+ * prayer button), held as packed ARGB ints in primitive arrays. {@link #advance(long)} moves every
+ * active transition forward against one clock sample per frame, in {@link #STEPS} quantized steps,
+ * and {@link #getColor(int)} paints through a small direct-mapped {@link Color} cache, so frames
+ * that only animate between colours already seen allocate nothing. Used from the render thread only.
+ */
+final class ColorTransitionEngine
+{
+    static final long DURATION_MILLIS = 150;
+    static final int STEPS = 10;
+
+    private static final int COLOR_CACHE_SIZE = 1024;
+
+    private final int[] fromArgb;
+    private final int[] targetArgb;
+    private final int[] currentArgb;
+    private final long[] startMillis;
+    private final boolean[] active;
+    private final boolean[] initialized;
+    private int activeCount;
+    private long frameMillis;
+
+    private final Color[] colorCache = new Color[COLOR_CACHE_SIZE];
+
+    ColorTransitionEngine(int slots)
+    {
+        fromArgb = new int[slots];
+        targetArgb = new int[slots];
+        currentArgb = new int[slots];
+        startMillis = new long[slots];
+        active = new boolean[slots];
+        initialized = new boolean[slots];
+    }
+
+    /**
+     * Advances every active transition to {@code nowMillis}. Call once per composed frame before
+     * any {@link #setTarget(int, int)}.
+     */
+    void advance(long nowMillis)
+    {
+        frameMillis = nowMillis;
+        if (activeCount == 0)
+        {
+            return;
+        }
+
+        for (int slot = 0; slot < active.length; slot++)
+        {
+            if (!active[slot])
+            {
+                continue;
+            }
+
+            int step = (int) Math.min(STEPS, (nowMillis - startMillis[slot]) * STEPS / DURATION_MILLIS);
+            if (step >= STEPS)
+            {
+                currentArgb[slot] = targetArgb[slot];
+                active[slot] = false;
+                activeCount--;
+            }
+            else
+            {
+                currentArgb[slot] = interpolate(fromArgb[slot], targetArgb[slot], step);
+            }
+        }
+    }
+
+    /**
+     * Sets the colour a slot should end up at. The first target of a slot is applied immediately,
+     * later changes start a transition from whatever colour the slot currently shows.
+     */
+    void setTarget(int slot, int argb)
+    {
+        if (!initialized[slot])
+        {
+            initialized[slot] = true;
+            fromArgb[slot] = targetArgb[slot] = currentArgb[slot] = argb;
+            return;
+        }
+
+        if (targetArgb[slot] == argb)
+        {
+            return;
+        }
+
+        fromArgb[slot] = currentArgb[slot];
+        targetArgb[slot] = argb;
+        startMillis[slot] = frameMillis;
+        if (!active[slot])
+        {
+            active[slot] = true;
+            activeCount++;
+        }
+    }
+
+    boolean isTransitioning(int slot)
+    {
+        return active[slot];
+    }
+
+    boolean isAnimating()
+    {
+        return activeCount > 0;
+    }
+
+    /**
+     * Colour the slot shows this frame.
+     */
+    Color getColor(int slot)
+    {
+        return toColor(currentArgb[slot]);
+    }
+
+    private Color toColor(int argb)
+    {
+        int index = (argb ^ (argb >>> 10) ^ (argb >>> 20)) & (COLOR_CACHE_SIZE - 1);
+        Color color = colorCache[index];
+        if (color == null || color.getRGB() != argb)
+        {
+            color = new Color(argb, true);
+            colorCache[index] = color;
+        }
+        return color;
+    }
+
+    private static int interpolate(int from, int to, int step)
+    {
+        int a = lerp(from >>> 24, to >>> 24, step);
+        int r = lerp((from >> 16) & 0xFF, (to >> 16) & 0xFF, step);
+        int g = lerp((from >> 8) & 0xFF, (to >> 8) & 0xFF, step);
+        int b = lerp(from & 0xFF, to & 0xFF, step);
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+
+    private static int lerp(int from, int to, int step)
+    {
+        return from + (to - from) * step / STEPS;
+    }
+}
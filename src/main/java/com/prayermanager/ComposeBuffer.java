@@ -0,0 +1,68 @@
+package com.prayermanager;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Reusable offscreen image an overlay is drawn into at full opacity and then copied to the game
+ * canvas in one {@code drawImage} under the overlay's opacity composite. Every primitive blends
+ * with plain SrcOver, the alpha composite runs once per frame, and overlapping primitives no
+ * longer stack the overlay opacity. Used from the render thread only.
+ */
+final class ComposeBuffer
+{
+    private BufferedImage image;
+
+    /**
+     * Returns a graphics for a cleared {@code width} x {@code height} area at the buffer's origin,
+     * set up with the target's font and rendering hints. The buffer only grows. Dispose the
+     * returned graphics when done.
+     */
+    Graphics2D begin(Graphics2D target, int width, int height)
+    {
+        if (image == null || image.getWidth() < width || image.getHeight() < height)
+        {
+            int newWidth = Math.max(width, image != null ? image.getWidth() : 1);
+            int newHeight = Math.max(height, image != null ? image.getHeight() : 1);
+            GraphicsConfiguration gc = target.getDeviceConfiguration();
+            image = gc != null
+                ? gc.createCompatibleImage(newWidth, newHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+
+        // Draw with the same font and hints the overlay renderer set up for us
+        g.setFont(target.getFont());
+        g.setRenderingHints(target.getRenderingHints());
+        return g;
+    }
+
+    /**
+     * Copies the top left {@code width} x {@code height} of the buffer to the target under the
+     * given composite, leaving the target's composite as it was.
+     */
+    void blit(Graphics2D target, int width, int height, Composite composite)
+    {
+        Composite previous = target.getComposite();
+        target.setComposite(composite);
+        try
+        {
+            target.drawImage(image,
+                0, 0, width, height,
+                0, 0, width, height,
+                null);
+        }
+        finally
+        {
+            target.setComposite(previous);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.prayermanager;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-bucket histogram of durations. Buckets are one microsecond wide unless another width is
+ * given, slower samples than {@link #BUCKET_COUNT} - 1 buckets share the last bucket and are
+ * still reflected exactly in the max. Recording is a couple of array writes with no allocation.
+ * Written by a single thread; readers from other threads may see a sample in flight, which is
+ * acceptable for diagnostics.
+ */
+final class FrameTimeHistogram
+{
+    static final int BUCKET_COUNT = 4096;
+
+    private final long nanosPerBucket;
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long total;
+    private long max;
+
+    FrameTimeHistogram()
+    {
+        this(1_000);
+    }
+
+    FrameTimeHistogram(long nanosPerBucket)
+    {
+        this.nanosPerBucket = nanosPerBucket;
+    }
+
+    void record(long nanos)
+    {
+        if (nanos < 0)
+        {
+            return;
+        }
+
+        int bucket = (int) Math.min(nanos / nanosPerBucket, BUCKET_COUNT - 1);
+        counts[bucket]++;
+        total++;
+        if (nanos > max)
+        {
+            max = nanos;
+        }
+    }
+
+    long getCount()
+    {
+        return total;
+    }
+
+    long getMax()
+    {
+        return max;
+    }
+
+    /**
+     * Returns the upper bound in nanoseconds of the bucket holding the given percentile
+     * (0-100), capped at the max. 0 when nothing has been recorded.
+     */
+    long getPercentile(double percentile)
+    {
+        long count = total;
+        if (count == 0)
+        {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++)
+        {
+            seen += counts[bucket];
+            if (seen >= rank)
+            {
+                // The overflow bucket has no upper bound, the max is the best estimate
+                return bucket == BUCKET_COUNT - 1 ? max : Math.min((bucket + 1) * nanosPerBucket, max);
+            }
+        }
+        return max;
+    }
+
+    void reset()
+    {
+        Arrays.fill(counts, 0);
+        total = 0;
+        max = 0;
+    }
+}
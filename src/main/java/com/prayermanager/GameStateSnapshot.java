@@ -0,0 +1,81 @@
+package com.prayermanager;
+
+import net.runelite.api.GameState;
+import net.runelite.api.Prayer;
+
+/**
+ * Immutable view of the client state the overlays draw from. Captured on the client thread by
+ * {@link GameStateTracker} when one of its inputs can have changed and read by the renderers
+ * through a single volatile load, so a frame never mixes values from two different ticks.
+ */
+final class GameStateSnapshot
+{
+    static final GameStateSnapshot EMPTY = new GameStateSnapshot(GameState.UNKNOWN, 0, 0, false,
+        0, 0, 0, PrayerCatalog.Book.STANDARD, false, 0, 0);
+
+    final GameState gameState;
+    final boolean loggedIn;
+
+    // Boosted and real prayer level
+    final int prayerPoints;
+    final int maxPrayerPoints;
+
+    final boolean quickPrayerActive;
+
+    // Quick prayer selection and the QuickPrayerState version it was taken from
+    final long selectedBits;
+    final int selectionVersion;
+
+    // Bit n set while the prayer with ordinal n is switched on
+    final long activeBits;
+
+    final PrayerCatalog.Book prayerBook;
+
+    // Canvas location of the minimap quick prayer orb, valid when hasPrayerOrb is set
+    final boolean hasPrayerOrb;
+    final int prayerOrbX;
+    final int prayerOrbY;
+
+    GameStateSnapshot(GameState gameState, int prayerPoints, int maxPrayerPoints, boolean quickPrayerActive,
+        long selectedBits, int selectionVersion, long activeBits, PrayerCatalog.Book prayerBook,
+        boolean hasPrayerOrb, int prayerOrbX, int prayerOrbY)
+    {
+        this.gameState = gameState;
+        this.loggedIn = gameState == GameState.LOGGED_IN;
+        this.prayerPoints = prayerPoints;
+        this.maxPrayerPoints = maxPrayerPoints;
+        this.quickPrayerActive = quickPrayerActive;
+        this.selectedBits = selectedBits;
+        this.selectionVersion = selectionVersion;
+        this.activeBits = activeBits;
+        this.prayerBook = prayerBook;
+        this.hasPrayerOrb = hasPrayerOrb;
+        this.prayerOrbX = prayerOrbX;
+        this.prayerOrbY = prayerOrbY;
+    }
+
+    boolean isSelected(int ordinal)
+    {
+        return (selectedBits & (1L << ordinal)) != 0;
+    }
+
+    boolean isActive(Prayer prayer)
+    {
+        return (activeBits & (1L << prayer.ordinal())) != 0;
+    }
+
+    boolean sameAs(GameStateSnapshot other)
+    {
+        return gameState == other.gameState
+            && prayerPoints == other.prayerPoints
+            && maxPrayerPoints == other.maxPrayerPoints
+            && quickPrayerActive == other.quickPrayerActive
+            && selectedBits == other.selectedBits
+            && selectionVersion == other.selectionVersion
+            && activeBits == other.activeBits
+            && prayerBook == other.prayerBook
+            && hasPrayerOrb == other.hasPrayerOrb
+            && prayerOrbX == other.prayerOrbX
+            && prayerOrbY == other.prayerOrbY;
+    }
+}
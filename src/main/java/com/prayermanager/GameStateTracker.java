@@ -0,0 +1,113 @@
+package com.prayermanager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Prayer;
+import net.runelite.api.Skill;
+import net.runelite.api.Varbits;
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetInfo;
+
+/**
+ * Holds the current {@link GameStateSnapshot}. {@link PrayerManager} calls {@link #update()} from
+ * the events that can change its inputs (GameTick, VarbitChanged, StatChanged, GameStateChanged);
+ * the overlays only ever call {@link #getSnapshot()}, which makes no client calls.
+ */
+@Singleton
+public class GameStateTracker
+{
+    // Active prayer book, 0 for the standard book and 1 for Ruinous Powers
+    static final int PRAYERBOOK_VARBIT = 14826;
+
+    private static final Prayer[] PRAYERS = Prayer.values();
+
+    @Inject
+    private Client client;
+
+    @Inject
+    private QuickPrayerState quickPrayerState;
+
+    private volatile GameStateSnapshot snapshot = GameStateSnapshot.EMPTY;
+
+    GameStateSnapshot getSnapshot()
+    {
+        return snapshot;
+    }
+
+    /**
+     * Whether a varbit change can affect the snapshot outside of the next game tick.
+     */
+    boolean isTrackedVarbit(int varbitId)
+    {
+        return varbitId == Varbits.QUICK_PRAYER
+            || varbitId == PRAYERBOOK_VARBIT
+            || quickPrayerState.isQuickPrayerVarbit(varbitId);
+    }
+
+    /**
+     * Re-reads the client and publishes a new snapshot if anything changed. Must be called on the
+     * client thread.
+     */
+    void update()
+    {
+        GameState gameState = client.getGameState();
+        if (gameState != GameState.LOGGED_IN)
+        {
+            publish(new GameStateSnapshot(gameState, 0, 0, false,
+                quickPrayerState.getSelectedBits(), quickPrayerState.getVersion(), 0, PrayerCatalog.Book.STANDARD,
+                false, 0, 0));
+            return;
+        }
+
+        long activeBits = 0;
+        for (Prayer prayer : PRAYERS)
+        {
+            if (client.isPrayerActive(prayer))
+            {
+                activeBits |= 1L << prayer.ordinal();
+            }
+        }
+
+        boolean hasPrayerOrb = false;
+        int orbX = 0;
+        int orbY = 0;
+        Widget prayerOrb = client.getWidget(WidgetInfo.MINIMAP_QUICK_PRAYER_ORB);
+        if (prayerOrb != null)
+        {
+            net.runelite.api.Point location = prayerOrb.getCanvasLocation();
+            if (location != null)
+            {
+                hasPrayerOrb = true;
+                orbX = location.getX();
+                orbY = location.getY();
+            }
+        }
+
+        publish(new GameStateSnapshot(
+            gameState,
+            client.getBoostedSkillLevel(Skill.PRAYER),
+            client.getRealSkillLevel(Skill.PRAYER),
+            client.getVarbitValue(Varbits.QUICK_PRAYER) == 1,
+            quickPrayerState.getSelectedBits(),
+            quickPrayerState.getVersion(),
+            activeBits,
+            client.getVarbitValue(PRAYERBOOK_VARBIT) == 1 ? PrayerCatalog.Book.RUINOUS_POWERS : PrayerCatalog.Book.STANDARD,
+            hasPrayerOrb, orbX, orbY));
+    }
+
+    void reset()
+    {
+        snapshot = GameStateSnapshot.EMPTY;
+    }
+
+    private void publish(GameStateSnapshot next)
+    {
+        // Keep the old instance when nothing changed so readers can compare by identity
+        if (!next.sameAs(snapshot))
+        {
+            snapshot = next;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.prayermanager;
+
+import java.awt.Point;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.client.config.ConfigManager;
+
+/**
+ * Saved overlay positions held in memory. Loaded from the config at startup and on
+ * {@code ConfigChanged}, read by the overlays with one volatile load per frame, and written back
+ * once a drag has settled for {@link #PERSIST_DELAY_MILLIS}. Positions are kept inside the canvas
+ * when it is resized; clamping only moves the in-memory position, the saved one is left alone
+ * until the next drag.
+ * <p>
+ * A position is replaced, never mutated, so overlays can detect a change by identity.
+ */
+@Singleton
+public class OverlayPositionStore
+{
+    static final long PERSIST_DELAY_MILLIS = 500;
+
+    enum Slot
+    {
+        PRAYER_GRID("prayerGridPositionX", "prayerGridPositionY"),
+        TIMING_BAR("timingOverlayPositionX", "timingOverlayPositionY");
+
+        private final String keyX;
+        private final String keyY;
+
+        Slot(String keyX, String keyY)
+        {
+            this.keyX = keyX;
+            this.keyY = keyY;
+        }
+    }
+
+    private static final Slot[] SLOTS = Slot.values();
+
+    static boolean isPositionKey(String key)
+    {
+        for (Slot slot : SLOTS)
+        {
+            if (slot.keyX.equals(key) || slot.keyY.equals(key))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry
+    {
+        // Null while the overlay has no saved position
+        volatile Point position;
+        // Last position handed to save() and not yet written to the config
+        final AtomicReference<Point> unsaved = new AtomicReference<>();
+        volatile int width;
+        volatile int height;
+    }
+
+    @Inject
+    private ConfigManager configManager;
+
+    @Inject
+    private ScheduledExecutorService executor;
+
+    private final Entry[] entries = new Entry[SLOTS.length];
+
+    private final Object persistLock = new Object();
+    private ScheduledFuture<?> pendingPersist;
+
+    // Held while writing, the scheduled write and flush() must not interleave their config writes
+    private final Object writeLock = new Object();
+
+    private volatile int canvasWidth;
+    private volatile int canvasHeight;
+
+    public OverlayPositionStore()
+    {
+        for (int i = 0; i < entries.length; i++)
+        {
+            entries[i] = new Entry();
+        }
+    }
+
+    Point get(Slot slot)
+    {
+        return entries[slot.ordinal()].position;
+    }
+
+    /**
+     * Re-reads both positions from the config. Slots with a save still pending keep their
+     * in-memory position, the config does not have it yet.
+     */
+    public void load(PrayerManagerConfig config)
+    {
+        load(Slot.PRAYER_GRID, config.prayerGridPositionX(), config.prayerGridPositionY());
+        load(Slot.TIMING_BAR, config.timingOverlayPositionX(), config.timingOverlayPositionY());
+    }
+
+    private void load(Slot slot, int x, int y)
+    {
+        Entry entry = entries[slot.ordinal()];
+        if (entry.unsaved.get() != null)
+        {
+            return;
+        }
+
+        if (x == -1 || y == -1)
+        {
+            entry.position = null;
+            return;
+        }
+
+        Point current = entry.position;
+        Point loaded = clamp(entry, x, y);
+        if (current == null || !current.equals(loaded))
+        {
+            entry.position = loaded;
+        }
+    }
+
+    /**
+     * Records where an overlay was dropped and schedules the config write. Another save within
+     * {@link #PERSIST_DELAY_MILLIS} pushes the write back, so a burst of drags costs one write.
+     */
+    public void save(Slot slot, Point position)
+    {
+        Entry entry = entries[slot.ordinal()];
+        Point saved = new Point(position);
+        entry.position = saved;
+        entry.unsaved.set(saved);
+
+        synchronized (persistLock)
+        {
+            if (pendingPersist != null)
+            {
+                pendingPersist.cancel(false);
+            }
+            pendingPersist = executor.schedule(this::persist, PERSIST_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes any pending position right away, e.g. on shutdown.
+     */
+    public void flush()
+    {
+        synchronized (persistLock)
+        {
+            if (pendingPersist != null)
+            {
+                pendingPersist.cancel(false);
+                pendingPersist = null;
+            }
+        }
+        persist();
+    }
+
+    private void persist()
+    {
+        synchronized (writeLock)
+        {
+            for (Slot slot : SLOTS)
+            {
+                Entry entry = entries[slot.ordinal()];
+                Point unsaved = entry.unsaved.get();
+                if (unsaved == null)
+                {
+                    continue;
+                }
+
+                configManager.setConfiguration("prayermanager", slot.keyX, unsaved.x);
+                configManager.setConfiguration("prayermanager", slot.keyY, unsaved.y);
+
+                // A newer save may have arrived while writing, it stays pending for its own write
+                entry.unsaved.compareAndSet(unsaved, null);
+            }
+        }
+    }
+
+    /**
+     * Size of the overlay in the slot, used to keep all of it on the canvas.
+     */
+    void setSize(Slot slot, int width, int height)
+    {
+        Entry entry = entries[slot.ordinal()];
+        entry.width = width;
+        entry.height = height;
+    }
+
+    /**
+     * Moves every position back inside a canvas of the given size.
+     */
+    public void setCanvasSize(int width, int height)
+    {
+        canvasWidth = width;
+        canvasHeight = height;
+
+        for (Entry entry : entries)
+        {
+            Point position = entry.position;
+            if (position == null)
+            {
+                continue;
+            }
+
+            Point clamped = clamp(entry, position.x, position.y);
+            if (!clamped.equals(position))
+            {
+                entry.position = clamped;
+            }
+        }
+    }
+
+    private Point clamp(Entry entry, int x, int y)
+    {
+        int width = canvasWidth;
+        int height = canvasHeight;
+        if (width <= 0 || height <= 0)
+        {
+            // Canvas size not known yet
+            return new Point(x, y);
+        }
+
+        int maxX = Math.max(0, width - entry.width);
+        int maxY = Math.max(0, height - entry.height);
+        return new Point(Math.max(0, Math.min(x, maxX)), Math.max(0, Math.min(y, maxY)));
+    }
+}
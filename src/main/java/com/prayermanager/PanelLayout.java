@@ -0,0 +1,67 @@
+package com.prayermanager;
+
+import net.runelite.api.Prayer;
+
+/**
+ * Immutable geometry of the prayer panel as it was last rendered: quick prayer button, prayer
+ * grid and total size, all relative to the overlay origin. The render thread publishes a new
+ * instance only when the geometry changes; mouse listeners read whichever instance is current.
+ */
+final class PanelLayout
+{
+    private final int width;
+    private final int height;
+
+    // Quick prayer button, size 0 when the button is hidden
+    private final int buttonY;
+    private final int buttonSize;
+
+    // Null when the grid is hidden
+    private final PrayerGridLayout grid;
+
+    PanelLayout(int width, int height, int buttonY, int buttonSize, PrayerGridLayout grid)
+    {
+        this.width = width;
+        this.height = height;
+        this.buttonY = buttonY;
+        this.buttonSize = buttonSize;
+        this.grid = grid;
+    }
+
+    boolean matches(int width, int height, int buttonY, int buttonSize, PrayerGridLayout grid)
+    {
+        return this.width == width && this.height == height
+            && this.buttonY == buttonY && this.buttonSize == buttonSize
+            && this.grid == grid;
+    }
+
+    boolean contains(int x, int y)
+    {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    boolean isInQuickPrayerButton(int x, int y)
+    {
+        return x >= 0 && x < buttonSize && y >= buttonY && y < buttonY + buttonSize;
+    }
+
+    Prayer prayerAt(int x, int y)
+    {
+        return grid != null ? grid.prayerAt(x, y) : null;
+    }
+
+    PrayerGridLayout getGrid()
+    {
+        return grid;
+    }
+
+    int getWidth()
+    {
+        return width;
+    }
+
+    int getHeight()
+    {
+        return height;
+    }
+}
@@ -0,0 +1,91 @@
+package com.prayermanager;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.util.function.LongFunction;
+
+/**
+ * Layout shared by the debug readouts: a translucent box with a header row and one p50/p99/max row
+ * per {@link FrameTimeHistogram}, plus free text lines underneath. Rows are numbered from 0, the
+ * header, so callers only count lines.
+ */
+final class PercentileTable
+{
+    private static final int PADDING = 4;
+    private static final int LABEL_WIDTH = 90;
+    private static final int VALUE_WIDTH = 52;
+    private static final int WIDTH = PADDING * 2 + LABEL_WIDTH + VALUE_WIDTH * 3;
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 160);
+    private static final Color HEADER_COLOR = Color.YELLOW;
+
+    static final LongFunction<String> MICROS = nanos -> Long.toString(nanos / 1_000);
+
+    static final LongFunction<String> MILLIS = nanos ->
+    {
+        long tenths = nanos / 100_000;
+        return tenths / 10 + "." + tenths % 10;
+    };
+
+    private PercentileTable()
+    {
+    }
+
+    /**
+     * Draws the background for {@code rows} rows after the header, then the header, and leaves
+     * the colour white for the rows.
+     *
+     * @return the size of the whole table
+     */
+    static Dimension drawFrame(Graphics2D graphics, String title, int rows)
+    {
+        int height = PADDING * 2 + graphics.getFontMetrics().getHeight() * (rows + 1);
+        graphics.setColor(BACKGROUND_COLOR);
+        graphics.fillRect(0, 0, WIDTH, height);
+
+        graphics.setColor(HEADER_COLOR);
+        drawColumns(graphics, baseline(graphics, 0), title, "p50", "p99", "max");
+        graphics.setColor(Color.WHITE);
+        return new Dimension(WIDTH, height);
+    }
+
+    static void drawHistogram(Graphics2D graphics, int row, String label, FrameTimeHistogram histogram,
+        LongFunction<String> format)
+    {
+        int y = baseline(graphics, row);
+        if (histogram.getCount() == 0)
+        {
+            drawColumns(graphics, y, label, "-", "-", "-");
+            return;
+        }
+
+        drawColumns(graphics, y, label,
+            format.apply(histogram.getPercentile(50)),
+            format.apply(histogram.getPercentile(99)),
+            format.apply(histogram.getMax()));
+    }
+
+    static void drawText(Graphics2D graphics, int row, String text)
+    {
+        graphics.drawString(text, PADDING, baseline(graphics, row));
+    }
+
+    private static int baseline(Graphics2D graphics, int row)
+    {
+        FontMetrics metrics = graphics.getFontMetrics();
+        return PADDING + metrics.getAscent() + metrics.getHeight() * row;
+    }
+
+    private static void drawColumns(Graphics2D graphics, int y, String label, String p50, String p99, String max)
+    {
+        int x = PADDING;
+        graphics.drawString(label, x, y);
+        x += LABEL_WIDTH;
+        graphics.drawString(p50, x, y);
+        x += VALUE_WIDTH;
+        graphics.drawString(p99, x, y);
+        x += VALUE_WIDTH;
+        graphics.drawString(max, x, y);
+    }
+}
@@ -0,0 +1,23 @@
+package com.prayermanager;
+
+import javax.inject.Singleton;
+
+/**
+ * Time source for everything the overlays animate or phase against the game tick. The plugin uses
+ * the system clock; headless replays bind a virtual clock in its place so recorded sessions render
+ * the same frames at any speed. Profilers and tracers measure real cost and keep reading the
+ * system clock directly.
+ */
+@Singleton
+public class PluginClock
+{
+    public long currentTimeMillis()
+    {
+        return System.currentTimeMillis();
+    }
+
+    public long nanoTime()
+    {
+        return System.nanoTime();
+    }
+}
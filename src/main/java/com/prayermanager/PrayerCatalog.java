@@ -0,0 +1,297 @@
+package com.prayermanager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Prayer;
+
+/**
+ * Static data for every prayer, loaded once from the bundled {@code prayers.csv} into arrays
+ * indexed by {@link Prayer#ordinal()}. Adding a prayer is a new row in the resource file.
+ */
+@Singleton
+public class PrayerCatalog
+{
+    private static final AsyncLog log = AsyncLog.getLogger(PrayerCatalog.class);
+
+    private static final String RESOURCE = "prayers.csv";
+    private static final int COLUMN_COUNT = 9;
+
+    // Short names longer than this do not fit a 60px tile at size 10 and use the abbreviation
+    private static final int MAX_TILE_NAME_LENGTH = 9;
+
+    public enum Book
+    {
+        STANDARD,
+        RUINOUS_POWERS
+    }
+
+    /**
+     * Catalog data for a single prayer.
+     */
+    public static final class Entry
+    {
+        private final Prayer prayer;
+        private final Book book;
+        private final int level;
+        private final int drainRate;
+        private final int quickPrayerVarbit;
+        private final int widgetChildId;
+        private final String name;
+        private final String shortName;
+        private final String abbreviation;
+
+        Entry(Prayer prayer, Book book, int level, int drainRate, int quickPrayerVarbit, int widgetChildId,
+            String name, String shortName, String abbreviation)
+        {
+            this.prayer = prayer;
+            this.book = book;
+            this.level = level;
+            this.drainRate = drainRate;
+            this.quickPrayerVarbit = quickPrayerVarbit;
+            this.widgetChildId = widgetChildId;
+            this.name = name;
+            this.shortName = shortName;
+            this.abbreviation = abbreviation;
+        }
+
+        public Prayer getPrayer()
+        {
+            return prayer;
+        }
+
+        public Book getBook()
+        {
+            return book;
+        }
+
+        public int getLevel()
+        {
+            return level;
+        }
+
+        public int getDrainRate()
+        {
+            return drainRate;
+        }
+
+        public int getQuickPrayerVarbit()
+        {
+            return quickPrayerVarbit;
+        }
+
+        public int getWidgetChildId()
+        {
+            return widgetChildId;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public String getShortName()
+        {
+            return shortName;
+        }
+
+        public String getAbbreviation()
+        {
+            return abbreviation;
+        }
+    }
+
+    private final Prayer[] prayers = Prayer.values();
+    private final Entry[] entries = new Entry[prayers.length];
+    private final String[] displayNames = new String[prayers.length];
+    private final int[] quickPrayerVarbits = new int[prayers.length];
+    private final int[] widgetChildIds = new int[prayers.length];
+
+    // Varbit id -> prayer ordinal, -1 for varbits that are not quick prayer selections
+    private final int[] varbitToOrdinal;
+
+    @Inject
+    public PrayerCatalog()
+    {
+        load();
+
+        int maxVarbit = -1;
+        for (int ordinal = 0; ordinal < prayers.length; ordinal++)
+        {
+            if (entries[ordinal] == null)
+            {
+                // Prayer added to the API but not to the resource yet
+                log.warn("No catalog entry for prayer {}", prayers[ordinal]);
+                entries[ordinal] = new Entry(prayers[ordinal], Book.STANDARD, 1, 0, -1, -1, "Unknown", "Unknown", "?");
+            }
+
+            Entry entry = entries[ordinal];
+            quickPrayerVarbits[ordinal] = entry.quickPrayerVarbit;
+            widgetChildIds[ordinal] = entry.widgetChildId;
+            displayNames[ordinal] = entry.shortName.length() <= MAX_TILE_NAME_LENGTH ? entry.shortName : entry.abbreviation;
+            maxVarbit = Math.max(maxVarbit, entry.quickPrayerVarbit);
+        }
+
+        varbitToOrdinal = new int[maxVarbit + 1];
+        Arrays.fill(varbitToOrdinal, -1);
+        for (int ordinal = 0; ordinal < prayers.length; ordinal++)
+        {
+            if (quickPrayerVarbits[ordinal] != -1)
+            {
+                varbitToOrdinal[quickPrayerVarbits[ordinal]] = ordinal;
+            }
+        }
+    }
+
+    private void load()
+    {
+        try (InputStream in = PrayerCatalog.class.getResourceAsStream(RESOURCE))
+        {
+            if (in == null)
+            {
+                throw new IllegalStateException("Missing prayer catalog resource " + RESOURCE);
+            }
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            boolean header = true;
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#"))
+                {
+                    continue;
+                }
+                if (header)
+                {
+                    header = false;
+                    continue;
+                }
+
+                parseRow(line);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Unable to read prayer catalog", e);
+        }
+    }
+
+    private void parseRow(String line)
+    {
+        String[] columns = line.split(",", -1);
+        if (columns.length != COLUMN_COUNT)
+        {
+            log.warn("Skipping malformed prayer catalog row: {}", line);
+            return;
+        }
+
+        Prayer prayer;
+        try
+        {
+            prayer = Prayer.valueOf(columns[0]);
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Prayer removed or renamed in the API, ignore the row
+            log.debug("Unknown prayer in catalog: {}", columns[0]);
+            return;
+        }
+
+        entries[prayer.ordinal()] = new Entry(
+            prayer,
+            Book.valueOf(columns[1]),
+            Integer.parseInt(columns[2]),
+            Integer.parseInt(columns[3]),
+            Integer.parseInt(columns[4]),
+            Integer.parseInt(columns[5]),
+            columns[6],
+            columns[7],
+            columns[8]);
+    }
+
+    public Entry get(Prayer prayer)
+    {
+        return entries[prayer.ordinal()];
+    }
+
+    public Entry get(int ordinal)
+    {
+        return entries[ordinal];
+    }
+
+    public int size()
+    {
+        return entries.length;
+    }
+
+    /**
+     * Label drawn on the prayer's grid tile.
+     */
+    public String getDisplayName(int ordinal)
+    {
+        return displayNames[ordinal];
+    }
+
+    public int getQuickPrayerVarbit(int ordinal)
+    {
+        return quickPrayerVarbits[ordinal];
+    }
+
+    public int getWidgetChildId(int ordinal)
+    {
+        return widgetChildIds[ordinal];
+    }
+
+    /**
+     * Looks a prayer up by enum constant, in-game name, short name or abbreviation, ignoring case,
+     * spaces and underscores. Returns its ordinal, or -1 when nothing matches.
+     */
+    public int findOrdinal(String name)
+    {
+        String key = normalizeName(name);
+        if (key.isEmpty())
+        {
+            return -1;
+        }
+
+        for (Entry entry : entries)
+        {
+            if (key.equals(normalizeName(entry.getPrayer().name()))
+                || key.equals(normalizeName(entry.getName()))
+                || key.equals(normalizeName(entry.getShortName()))
+                || key.equals(normalizeName(entry.getAbbreviation())))
+            {
+                return entry.getPrayer().ordinal();
+            }
+        }
+        return -1;
+    }
+
+    private static String normalizeName(String name)
+    {
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++)
+        {
+            char c = name.charAt(i);
+            if (c != ' ' && c != '_')
+            {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns the ordinal of the prayer selected by the given quick prayer varbit, or -1.
+     */
+    public int getOrdinalForQuickPrayerVarbit(int varbitId)
+    {
+        return varbitId >= 0 && varbitId < varbitToOrdinal.length ? varbitToOrdinal[varbitId] : -1;
+    }
+}
@@ -0,0 +1,109 @@
+package com.prayermanager;
+
+import java.util.Arrays;
+
+/**
+ * The prayers the grid shows, in display order, for one combination of grid settings, prayer book
+ * and prayer level. Built when one of those inputs changes and then only compared against, so
+ * rendering and hit-testing never walk prayers that are filtered out. The book and level are
+ * only part of the key while their filter is enabled.
+ */
+final class PrayerGridFilter
+{
+    private static final AsyncLog log = AsyncLog.getLogger(PrayerGridFilter.class);
+
+    private final RenderSettings settings;
+    private final PrayerCatalog.Book book;
+    private final int level;
+
+    // Ordinals of the visible prayers, never modified after construction
+    private final int[] ordinals;
+
+    PrayerGridFilter(RenderSettings settings, PrayerCatalog.Book book, int level,
+        PrayerCatalog catalog, QuickPrayerActions quickPrayerActions)
+    {
+        this.settings = settings;
+        this.book = book;
+        this.level = level;
+
+        int[] candidates = settings.gridCustomPrayers.isEmpty()
+            ? allOrdinals(catalog.size())
+            : parseCustomList(settings.gridCustomPrayers, catalog);
+
+        int[] visible = new int[candidates.length];
+        int count = 0;
+        for (int ordinal : candidates)
+        {
+            PrayerCatalog.Entry entry = catalog.get(ordinal);
+            if (settings.gridActiveBookOnly && book != null && entry.getBook() != book)
+            {
+                continue;
+            }
+            if (settings.gridQuickPrayersOnly && !quickPrayerActions.canToggle(ordinal))
+            {
+                continue;
+            }
+            // Level 0 means the stats are not loaded yet, show everything until they are
+            if (settings.gridUnlockedOnly && level > 0 && entry.getLevel() > level)
+            {
+                continue;
+            }
+            visible[count++] = ordinal;
+        }
+
+        ordinals = count == visible.length ? visible : Arrays.copyOf(visible, count);
+    }
+
+    boolean matches(RenderSettings settings, PrayerCatalog.Book book, int level)
+    {
+        return this.settings == settings
+            && (!settings.gridActiveBookOnly || this.book == book)
+            && (!settings.gridUnlockedOnly || this.level == level);
+    }
+
+    /**
+     * Visible prayer ordinals in display order. Shared, do not modify.
+     */
+    int[] getOrdinals()
+    {
+        return ordinals;
+    }
+
+    private static int[] allOrdinals(int size)
+    {
+        int[] ordinals = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            ordinals[i] = i;
+        }
+        return ordinals;
+    }
+
+    private static int[] parseCustomList(String list, PrayerCatalog catalog)
+    {
+        String[] names = list.split(",");
+        int[] ordinals = new int[names.length];
+        long seen = 0;
+        int count = 0;
+        for (String name : names)
+        {
+            name = name.trim();
+            if (name.isEmpty())
+            {
+                continue;
+            }
+
+            int ordinal = catalog.findOrdinal(name);
+            if (ordinal == -1)
+            {
+                log.warn("Unknown prayer \"{}\" in the custom prayer grid list", name);
+            }
+            else if ((seen & 1L << ordinal) == 0)
+            {
+                seen |= 1L << ordinal;
+                ordinals[count++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(ordinals, count);
+    }
+}
@@ -0,0 +1,124 @@
+package com.prayermanager;
+
+import java.util.Arrays;
+import net.runelite.api.Prayer;
+
+/**
+ * Immutable placement of the prayer tiles on a regular lattice. Resolving the tile under a point
+ * is integer arithmetic on the lattice plus one lookup in a precomputed cell index, so it works
+ * the same for the default order and for filtered or reordered tile lists.
+ */
+final class PrayerGridLayout
+{
+    private static final Prayer[] PRAYERS = Prayer.values();
+
+    private static final int TILE_WIDTH = PrayerManagerOverlay.PRAYER_TILE_WIDTH;
+    private static final int TILE_HEIGHT = PrayerManagerOverlay.PRAYER_TILE_HEIGHT;
+
+    private final int originY;
+    private final int columns;
+    private final int rows;
+    private final int padding;
+    private final int width;
+    private final int height;
+
+    // Cell (row * columns + col) -> prayer ordinal, -1 for empty cells
+    private final int[] cellOrdinals;
+
+    // The list this layout was built from, compared by identity
+    private final int[] ordinals;
+
+    /**
+     * Lays out the given prayers in order, row by row. The array is kept for {@link #matches} and
+     * must not be modified afterwards.
+     */
+    PrayerGridLayout(int[] ordinals, int columns, int padding, int originY)
+    {
+        this.ordinals = ordinals;
+        this.originY = originY;
+        this.columns = columns;
+        this.padding = padding;
+        this.rows = (ordinals.length + columns - 1) / columns;
+        this.width = columns * (TILE_WIDTH + padding) - padding;
+        this.height = rows * (TILE_HEIGHT + padding) - padding;
+
+        cellOrdinals = new int[rows * columns];
+        Arrays.fill(cellOrdinals, -1);
+        System.arraycopy(ordinals, 0, cellOrdinals, 0, ordinals.length);
+    }
+
+    boolean matches(int[] ordinals, int columns, int padding, int originY)
+    {
+        return this.ordinals == ordinals && this.columns == columns && this.padding == padding && this.originY == originY;
+    }
+
+    /**
+     * Returns the ordinal of the tile containing the overlay-relative point, or -1 when the point
+     * is outside the grid, in the padding between tiles or on an empty cell.
+     */
+    int ordinalAt(int x, int y)
+    {
+        int gridY = y - originY;
+        if (x < 0 || gridY < 0 || x >= width || gridY >= height)
+        {
+            return -1;
+        }
+
+        int strideX = TILE_WIDTH + padding;
+        int strideY = TILE_HEIGHT + padding;
+        int col = x / strideX;
+        int row = gridY / strideY;
+
+        // Gap between tiles
+        if (x - col * strideX >= TILE_WIDTH || gridY - row * strideY >= TILE_HEIGHT)
+        {
+            return -1;
+        }
+
+        return cellOrdinals[row * columns + col];
+    }
+
+    Prayer prayerAt(int x, int y)
+    {
+        int ordinal = ordinalAt(x, y);
+        return ordinal == -1 ? null : PRAYERS[ordinal];
+    }
+
+    int getCellCount()
+    {
+        return cellOrdinals.length;
+    }
+
+    /**
+     * Ordinal drawn in the given cell, -1 if the cell is empty.
+     */
+    int getOrdinal(int cell)
+    {
+        return cellOrdinals[cell];
+    }
+
+    int getTileX(int cell)
+    {
+        return (cell % columns) * (TILE_WIDTH + padding);
+    }
+
+    int getTileY(int cell)
+    {
+        return originY + (cell / columns) * (TILE_HEIGHT + padding);
+    }
+
+    int getOriginY()
+    {
+        return originY;
+    }
+
+    int getWidth()
+    {
+        return width;
+    }
+
+    int getHeight()
+    {
+        return height;
+    }
+}
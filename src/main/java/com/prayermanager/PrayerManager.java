@@ -2,17 +2,30 @@ package com.prayermanager;
 
 import com.google.inject.Provides;
 import java.awt.event.MouseEvent;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.inject.Inject;
-import java.util.logging.Logger;
 import net.runelite.api.Client;
+import net.runelite.api.GameState;
 import net.runelite.api.Prayer;
+import net.runelite.api.Skill;
 import net.runelite.api.Varbits;
+import net.runelite.api.events.CanvasSizeChanged;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.StatChanged;
 import net.runelite.api.events.VarbitChanged;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetInfo;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.input.MouseAdapter;
 import net.runelite.client.input.MouseManager;
 import net.runelite.client.plugins.Plugin;
@@ -26,11 +39,21 @@ import net.runelite.client.ui.overlay.OverlayManager;
 )
 public class PrayerManager extends Plugin
 {
-    private static final Logger log = Logger.getLogger(PrayerManager.class.getName());
+    private static final AsyncLog log = AsyncLog.getLogger(PrayerManager.class);
+    
+    private static final long TRACE_SNAPSHOT_WAIT_MILLIS = 1000;
+    
+    // Diagnostics toggles, applied on their own rather than through the render settings
+    private static final String RENDER_PROFILER_KEY = "renderProfiler";
+    private static final String CLICK_LATENCY_TRACER_KEY = "clickLatencyTracer";
+    private static final String RECORD_SESSION_KEY = "recordSession";
     
     @Inject
     private Client client;
     
+    @Inject
+    private ClientThread clientThread;
+    
     @Inject
     private OverlayManager overlayManager;
     
@@ -46,11 +69,43 @@ public class PrayerManager extends Plugin
     @Inject
     private PrayerManagerConfig config;
     
+    @Inject
+    private QuickPrayerState quickPrayerState;
+    
+    @Inject
+    private GameStateTracker gameStateTracker;
+    
+    @Inject
+    private QuickPrayerPresets quickPrayerPresets;
+    
+    @Inject
+    private OverlayPositionStore positionStore;
+    
+    @Inject
+    private RenderProfiler renderProfiler;
+    
+    @Inject
+    private RenderProfilerOverlay renderProfilerOverlay;
+    
+    @Inject
+    private ActionLatencyTracer latencyTracer;
+    
+    @Inject
+    private ActionLatencyOverlay latencyOverlay;
+    
+    @Inject
+    private SessionRecorder sessionRecorder;
+    
+    @Inject
+    private ScheduledExecutorService executor;
+    
     private final MouseAdapter mouseAdapter = new MouseAdapter()
     {
         @Override
         public MouseEvent mouseClicked(MouseEvent mouseEvent)
         {
+            record(SessionRecorder.RecordType.MOUSE_CLICKED, mouseEvent);
+            
             // Check timing overlay first (higher priority for independence)
             if (prayerTimingOverlay.handleMouseClick(mouseEvent.getPoint()))
             {
@@ -76,6 +131,8 @@ public class PrayerManager extends Plugin
         @Override
         public MouseEvent mousePressed(MouseEvent mouseEvent)
         {
+            record(SessionRecorder.RecordType.MOUSE_PRESSED, mouseEvent);
+            
             // Check timing overlay first for drag initiation
             if (prayerTimingOverlay.handleMousePress(mouseEvent.getPoint()))
             {
@@ -89,6 +146,8 @@ public class PrayerManager extends Plugin
         @Override
         public MouseEvent mouseReleased(MouseEvent mouseEvent)
         {
+            record(SessionRecorder.RecordType.MOUSE_RELEASED, mouseEvent);
+            
             // Check timing overlay first for drag completion
             if (prayerTimingOverlay.handleMouseRelease(mouseEvent.getPoint()))
             {
@@ -102,6 +161,8 @@ public class PrayerManager extends Plugin
         @Override
         public MouseEvent mouseMoved(MouseEvent mouseEvent)
         {
+            record(SessionRecorder.RecordType.MOUSE_MOVED, mouseEvent);
+            
             // Let the prayer manager overlay handle mouse movement for hover effects
             return prayerManagerOverlay.handleMouseMove(mouseEvent);
         }
@@ -109,6 +170,8 @@ public class PrayerManager extends Plugin
         @Override
         public MouseEvent mouseDragged(MouseEvent mouseEvent)
         {
+            record(SessionRecorder.RecordType.MOUSE_DRAGGED, mouseEvent);
+            
             // Check timing overlay first for drag updates
             if (prayerTimingOverlay.handleMouseDrag(mouseEvent.getPoint()))
             {
@@ -118,15 +181,41 @@ public class PrayerManager extends Plugin
             // Let the prayer manager overlay handle dragging
             return prayerManagerOverlay.handleMouseMove(mouseEvent);
         }
+        
+        private void record(SessionRecorder.RecordType type, MouseEvent mouseEvent)
+        {
+            if (sessionRecorder.isRecording())
+            {
+                sessionRecorder.recordMouse(type, mouseEvent.getButton(), mouseEvent.getX(), mouseEvent.getY());
+            }
+        }
     };
     
     @Override
     protected void startUp()
     {
         log.info("Prayer Manager Plugin started!");
+        publishRenderSettings();
+        applyDiagnostics(null);
+        positionStore.load(config);
         overlayManager.add(prayerManagerOverlay);
         overlayManager.add(prayerTimingOverlay);
+        overlayManager.add(renderProfilerOverlay);
+        overlayManager.add(latencyOverlay);
         mouseManager.registerMouseListener(mouseAdapter);
+        quickPrayerPresets.load(config);
+        quickPrayerPresets.register();
+        
+        // Pick up the current selection when the plugin is enabled while already logged in
+        clientThread.invoke(() ->
+        {
+            if (client.getGameState() == GameState.LOGGED_IN)
+            {
+                quickPrayerState.refresh();
+            }
+            gameStateTracker.update();
+            positionStore.setCanvasSize(client.getCanvasWidth(), client.getCanvasHeight());
+        });
     }
     
     @Override
@@ -135,7 +224,30 @@ public class PrayerManager extends Plugin
         log.info("Prayer Manager Plugin stopped!");
         overlayManager.remove(prayerManagerOverlay);
         overlayManager.remove(prayerTimingOverlay);
+        overlayManager.remove(renderProfilerOverlay);
+        overlayManager.remove(latencyOverlay);
         mouseManager.unregisterMouseListener(mouseAdapter);
+        quickPrayerPresets.unregister();
+        positionStore.flush();
+        // The selection is only ever changed on the client thread
+        clientThread.invoke(quickPrayerState::reset);
+        gameStateTracker.reset();
+        
+        if (renderProfiler.isEnabled())
+        {
+            renderProfiler.logSummary();
+            renderProfiler.setEnabled(false);
+        }
+        
+        if (latencyTracer.isEnabled())
+        {
+            writeLatencyTraceBeforeShutdown();
+        }
+        
+        sessionRecorder.stop();
+        
+        // Last, after everything above has queued its messages
+        AsyncLog.shutdown();
     }
     
     private void handleLeftClick(MouseEvent mouseEvent)
@@ -165,6 +277,13 @@ public class PrayerManager extends Plugin
     @Subscribe
     public void onGameTick(GameTick gameTick)
     {
+        sessionRecorder.recordTick(client.getTickCount());
+        
+        // Active prayers and the orb location are only picked up here
+        gameStateTracker.update();
+        latencyTracer.onGameTick();
+        quickPrayerPresets.onGameTick();
+        
         // Update timing bar position for 1-tick flick visualization
         prayerTimingOverlay.onGameTick();
     }
@@ -172,17 +291,202 @@ public class PrayerManager extends Plugin
     @Subscribe
     public void onVarbitChanged(VarbitChanged varbitChanged)
     {
+        latencyTracer.onVarbitChanged(varbitChanged.getVarbitId());
+        
         // Update prayer selection states when quick prayers change
-        if (isQuickPrayerVarbit(varbitChanged.getVarbitId()))
+        if (quickPrayerState.onVarbitChanged(varbitChanged.getVarbitId(), varbitChanged.getValue()))
         {
             prayerManagerOverlay.updatePrayerStates();
+            quickPrayerPresets.onSelectionChanged();
+        }
+        
+        // Other varbits wait for the game tick that follows them
+        if (gameStateTracker.isTrackedVarbit(varbitChanged.getVarbitId()))
+        {
+            sessionRecorder.recordVarbit(varbitChanged.getVarbitId(), varbitChanged.getValue());
+            gameStateTracker.update();
+        }
+    }
+    
+    @Subscribe
+    public void onStatChanged(StatChanged statChanged)
+    {
+        if (statChanged.getSkill() == Skill.PRAYER)
+        {
+            sessionRecorder.recordPrayerPoints(statChanged.getBoostedLevel(), statChanged.getLevel());
+            gameStateTracker.update();
+        }
+    }
+    
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged gameStateChanged)
+    {
+        sessionRecorder.recordGameState(gameStateChanged.getGameState().ordinal());
+        
+        GameState gameState = gameStateChanged.getGameState();
+        if (gameState == GameState.LOGGED_IN)
+        {
+            quickPrayerState.refresh();
+        }
+        else if (gameState == GameState.LOGIN_SCREEN || gameState == GameState.HOPPING)
+        {
+            prayerTimingOverlay.resetTickTiming();
+        }
+        gameStateTracker.update();
+    }
+    
+    @Subscribe
+    public void onConfigChanged(ConfigChanged configChanged)
+    {
+        if (!"prayermanager".equals(configChanged.getGroup()))
+        {
+            return;
+        }
+        
+        // Moving an overlay changes nothing else, keep the render settings and presets
+        if (OverlayPositionStore.isPositionKey(configChanged.getKey()))
+        {
+            positionStore.load(config);
+            return;
         }
+        
+        // Nor does switching a diagnostic, which only touches its own toggle
+        if (isDiagnosticsKey(configChanged.getKey()))
+        {
+            applyDiagnostics(configChanged.getKey());
+            return;
+        }
+        
+        publishRenderSettings();
+        quickPrayerPresets.load(config);
+    }
+    
+    @Subscribe
+    public void onCanvasSizeChanged(CanvasSizeChanged canvasSizeChanged)
+    {
+        positionStore.setCanvasSize(client.getCanvasWidth(), client.getCanvasHeight());
     }
     
-    private boolean isQuickPrayerVarbit(int varbitId)
+    private void publishRenderSettings()
     {
-        // Check if the changed varbit relates to quick prayer selections
-        return varbitId >= 4102 && varbitId <= 4126; // Quick prayer varbits range
+        // Read the config proxy once here so the overlays never have to while rendering
+        RenderSettings settings = new RenderSettings(config);
+        prayerManagerOverlay.setRenderSettings(settings);
+        prayerTimingOverlay.setRenderSettings(settings);
+    }
+    
+    private static boolean isDiagnosticsKey(String key)
+    {
+        return RENDER_PROFILER_KEY.equals(key) || CLICK_LATENCY_TRACER_KEY.equals(key) || RECORD_SESSION_KEY.equals(key);
+    }
+    
+    /**
+     * Turns the profiler, click latency tracer and session recorder on or off to match the config.
+     *
+     * @param changedKey the config key that changed, null to apply all of them
+     */
+    private void applyDiagnostics(String changedKey)
+    {
+        if (changedKey == null || RENDER_PROFILER_KEY.equals(changedKey))
+        {
+            renderProfiler.setEnabled(config.renderProfiler());
+        }
+        
+        if (changedKey == null || CLICK_LATENCY_TRACER_KEY.equals(changedKey))
+        {
+            // The trace belongs to the client thread, so turning it on cannot clear it under an export
+            boolean traceClicks = config.clickLatencyTracer();
+            clientThread.invoke(() ->
+            {
+                if (!traceClicks && latencyTracer.isEnabled())
+                {
+                    exportLatencyTrace();
+                }
+                latencyTracer.setEnabled(traceClicks);
+            });
+        }
+        
+        if (changedKey == null || RECORD_SESSION_KEY.equals(changedKey))
+        {
+            if (config.recordSession())
+            {
+                sessionRecorder.start();
+            }
+            else
+            {
+                sessionRecorder.stop();
+            }
+        }
+    }
+    
+    // Client thread only, the file is written off of it
+    private void exportLatencyTrace()
+    {
+        String csv = snapshotLatencyTrace();
+        if (csv != null)
+        {
+            executor.execute(() -> writeLatencyTrace(csv));
+        }
+    }
+    
+    /**
+     * Snapshots the trace on the client thread and writes it from the calling thread, so both are
+     * done before the log shuts down. Gives up if the client thread does not get to it in time.
+     */
+    private void writeLatencyTraceBeforeShutdown()
+    {
+        CompletableFuture<String> snapshot = new CompletableFuture<>();
+        clientThread.invoke(() ->
+        {
+            try
+            {
+                latencyTracer.setEnabled(false);
+                snapshot.complete(snapshotLatencyTrace());
+            }
+            catch (RuntimeException e)
+            {
+                snapshot.completeExceptionally(e);
+            }
+        });
+        
+        try
+        {
+            String csv = snapshot.get(TRACE_SNAPSHOT_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            if (csv != null)
+            {
+                writeLatencyTrace(csv);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException | TimeoutException e)
+        {
+            log.warn("Click latency trace not written, no snapshot from the client thread: {}", e.toString());
+        }
+    }
+    
+    /**
+     * Logs the latency summary and returns the trace as CSV, null when nothing was acknowledged.
+     */
+    private String snapshotLatencyTrace()
+    {
+        latencyTracer.logSummary();
+        return latencyTracer.getAcknowledgedCount() == 0 ? null : latencyTracer.toCsv();
+    }
+    
+    private void writeLatencyTrace(String csv)
+    {
+        try
+        {
+            File file = ActionLatencyTracer.writeCsv(csv);
+            log.info("Click latency trace written to {}", file);
+        }
+        catch (IOException e)
+        {
+            log.warn("Failed to write click latency trace: {}", e.getMessage());
+        }
     }
     
 
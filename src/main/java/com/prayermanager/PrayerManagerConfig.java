@@ -4,6 +4,8 @@ import java.awt.Color;
 import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
+import net.runelite.client.config.ConfigSection;
+import net.runelite.client.config.Keybind;
 import net.runelite.client.config.Range;
 
 @ConfigGroup("prayermanager")
@@ -29,6 +31,16 @@ public interface PrayerManagerConfig extends Config
         return true;
     }
     
+    @ConfigItem(
+        keyName = "showTickJitter",
+        name = "Show Tick Jitter",
+        description = "Plot the last 256 game tick intervals with their min, mean, max and deviation under the timing bar"
+    )
+    default boolean showTickJitter()
+    {
+        return false;
+    }
+    
     @ConfigItem(
         keyName = "showPrayerPoints",
         name = "Show Prayer Points Bar",
@@ -320,4 +332,226 @@ public interface PrayerManagerConfig extends Config
             return displayName;
         }
     }
+    
+    @ConfigItem(
+        keyName = "renderProfiler",
+        name = "Render Profiler",
+        description = "Record how long each overlay component takes to draw and show p50/p99/max in a debug overlay"
+    )
+    default boolean renderProfiler()
+    {
+        return false;
+    }
+    
+    @ConfigItem(
+        keyName = "clickLatencyTracer",
+        name = "Click Latency Tracer",
+        description = "Time prayer clicks until the game acknowledges them, show the results in a debug overlay and export them to .runelite/prayermanager when switched off"
+    )
+    default boolean clickLatencyTracer()
+    {
+        return false;
+    }
+    
+    @ConfigItem(
+        keyName = "recordSession",
+        name = "Record Session",
+        description = "Write ticks, overlay clicks, prayer actions and varbit changes to a binary log in .runelite/prayermanager while enabled"
+    )
+    default boolean recordSession()
+    {
+        return false;
+    }
+    
+    @ConfigSection(
+        name = "Prayer Grid Filters",
+        description = "Which prayers the grid shows",
+        position = 90,
+        closedByDefault = true
+    )
+    String gridFiltersSection = "gridFilters";
+    
+    @ConfigItem(
+        keyName = "gridActiveBookOnly",
+        name = "Active Prayer Book Only",
+        description = "Only show prayers from the prayer book currently in use",
+        section = gridFiltersSection
+    )
+    default boolean gridActiveBookOnly()
+    {
+        return false;
+    }
+    
+    @ConfigItem(
+        keyName = "gridQuickPrayersOnly",
+        name = "Quick Prayers Only",
+        description = "Hide prayers that cannot be selected as a quick prayer",
+        section = gridFiltersSection
+    )
+    default boolean gridQuickPrayersOnly()
+    {
+        return false;
+    }
+    
+    @ConfigItem(
+        keyName = "gridUnlockedOnly",
+        name = "Unlocked Prayers Only",
+        description = "Hide prayers that need a higher prayer level than yours",
+        section = gridFiltersSection
+    )
+    default boolean gridUnlockedOnly()
+    {
+        return false;
+    }
+    
+    @ConfigItem(
+        keyName = "gridCustomPrayers",
+        name = "Custom Prayer List",
+        description = "Comma separated prayers to show, in this order, e.g. \"Protect from Magic, Piety\". Leave empty to show every prayer",
+        section = gridFiltersSection
+    )
+    default String gridCustomPrayers()
+    {
+        return "";
+    }
+    
+    @ConfigSection(
+        name = "Quick Prayer Presets",
+        description = "Named quick prayer setups applied with one hotkey",
+        position = 100,
+        closedByDefault = true
+    )
+    String presetsSection = "presets";
+    
+    @ConfigItem(
+        keyName = "preset1Name",
+        name = "Preset 1 Name",
+        description = "Name of quick prayer preset 1, shown in the log when it is applied",
+        section = presetsSection
+    )
+    default String preset1Name()
+    {
+        return "";
+    }
+    
+    @ConfigItem(
+        keyName = "preset1Prayers",
+        name = "Preset 1 Prayers",
+        description = "Comma separated prayers, e.g. Protect from Missiles, Eagle Eye",
+        section = presetsSection
+    )
+    default String preset1Prayers()
+    {
+        return "";
+    }
+    
+    @ConfigItem(
+        keyName = "preset1Hotkey",
+        name = "Preset 1 Hotkey",
+        description = "Selects exactly the prayers of preset 1 as quick prayers",
+        section = presetsSection
+    )
+    default Keybind preset1Hotkey()
+    {
+        return Keybind.NOT_SET;
+    }
+    
+    @ConfigItem(
+        keyName = "preset2Name",
+        name = "Preset 2 Name",
+        description = "Name of quick prayer preset 2, shown in the log when it is applied",
+        section = presetsSection
+    )
+    default String preset2Name()
+    {
+        return "";
+    }
+    
+    @ConfigItem(
+        keyName = "preset2Prayers",
+        name = "Preset 2 Prayers",
+        description = "Comma separated prayers, e.g. Protect from Missiles, Eagle Eye",
+        section = presetsSection
+    )
+    default String preset2Prayers()
+    {
+        return "";
+    }
+    
+    @ConfigItem(
+        keyName = "preset2Hotkey",
+        name = "Preset 2 Hotkey",
+        description = "Selects exactly the prayers of preset 2 as quick prayers",
+        section = presetsSection
+    )
+    default Keybind preset2Hotkey()
+    {
+        return Keybind.NOT_SET;
+    }
+    
+    @ConfigItem(
+        keyName = "preset3Name",
+        name = "Preset 3 Name",
+        description = "Name of quick prayer preset 3, shown in the log when it is applied",
+        section = presetsSection
+    )
+    default String preset3Name()
+    {
+        return "";
+    }
+    
+    @ConfigItem(
+        keyName = "preset3Prayers",
+        name = "Preset 3 Prayers",
+        description = "Comma separated prayers, e.g. Protect from Missiles, Eagle Eye",
+        section = presetsSection
+    )
+    default String preset3Prayers()
+    {
+        return "";
+    }
+    
+    @ConfigItem(
+        keyName = "preset3Hotkey",
+        name = "Preset 3 Hotkey",
+        description = "Selects exactly the prayers of preset 3 as quick prayers",
+        section = presetsSection
+    )
+    default Keybind preset3Hotkey()
+    {
+        return Keybind.NOT_SET;
+    }
+    
+    @ConfigItem(
+        keyName = "preset4Name",
+        name = "Preset 4 Name",
+        description = "Name of quick prayer preset 4, shown in the log when it is applied",
+        section = presetsSection
+    )
+    default String preset4Name()
+    {
+        return "";
+    }
+    
+    @ConfigItem(
+        keyName = "preset4Prayers",
+        name = "Preset 4 Prayers",
+        description = "Comma separated prayers, e.g. Protect from Missiles, Eagle Eye",
+        section = presetsSection
+    )
+    default String preset4Prayers()
+    {
+        return "";
+    }
+    
+    @ConfigItem(
+        keyName = "preset4Hotkey",
+        name = "Preset 4 Hotkey",
+        description = "Selects exactly the prayers of preset 4 as quick prayers",
+        section = presetsSection
+    )
+    default Keybind preset4Hotkey()
+    {
+        return Keybind.NOT_SET;
+    }
 }
\ No newline at end of file
@@ -2,19 +2,13 @@ package com.prayermanager;
 
 import java.awt.*;
 import java.awt.event.MouseEvent;
-import java.awt.image.BufferedImage;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.logging.Logger;
 import java.util.logging.Level;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import net.runelite.api.Client;
-import net.runelite.api.GameState;
 import net.runelite.api.MenuAction;
 import net.runelite.api.MenuEntry;
 import net.runelite.api.Prayer;
-import net.runelite.api.Skill;
 import net.runelite.api.Varbits;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetInfo;
@@ -23,145 +17,211 @@ import net.runelite.client.ui.overlay.OverlayPanel;
 import net.runelite.client.ui.overlay.OverlayPosition;
 import net.runelite.client.ui.overlay.OverlayPriority;
 import net.runelite.client.callback.ClientThread;
-import net.runelite.client.config.ConfigManager;
 
 
 @Singleton
 public class PrayerManagerOverlay extends OverlayPanel
 {
-    private static final Logger log = Logger.getLogger(PrayerManagerOverlay.class.getName());
+    private static final AsyncLog log = AsyncLog.getLogger(PrayerManagerOverlay.class);
     
-    private static final int PRAYER_TILE_WIDTH = 60;
-    private static final int PRAYER_TILE_HEIGHT = 24;
+    static final int PRAYER_TILE_WIDTH = 60;
+    static final int PRAYER_TILE_HEIGHT = 24;
     private static final int GRID_PADDING = 2;
     private static final int COMPONENT_SPACING = 5;
+    private static final Prayer[] PRAYERS = Prayer.values();
+    private static final int PRAYER_COUNT = PRAYERS.length;
+    private static final int BUTTON_TRANSITION_SLOT = PRAYER_COUNT;
     
-    // Transition animation constants
-    private static final long TRANSITION_DURATION = 150; // 150ms for smooth transitions
-    private static final int TRANSITION_STEPS = 10;
-
     @Inject
     private Client client;
 
     @Inject
-    private PrayerManagerConfig config;
+    private ClientThread clientThread;
     
     @Inject
-    private ClientThread clientThread;
+    private OverlayPositionStore positionStore;
+    
+    @Inject
+    private PrayerTileAtlas tileAtlas;
+    
+    @Inject
+    private QuickPrayerState quickPrayerState;
+    
+    @Inject
+    private GameStateTracker gameStateTracker;
+    
+    @Inject
+    private PrayerCatalog prayerCatalog;
+    
+    @Inject
+    private RenderProfiler profiler;
+    
+    @Inject
+    private TextLabelCache textCache;
+    
+    @Inject
+    private ActionLatencyTracer latencyTracer;
+    
+    @Inject
+    private QuickPrayerActions quickPrayerActions;
     
     @Inject
-    private ConfigManager configManager;
+    private SessionRecorder sessionRecorder;
+    
+    @Inject
+    private PluginClock clock;
+
 
 
+    private volatile RenderSettings settings;
 
-    private final Map<Prayer, Rectangle> prayerBounds = new HashMap<>();
-    private Rectangle quickPrayerButtonBounds;
+    // Geometry of the last rendered panel, replaced as a whole when it changes
+    private volatile PanelLayout layout;
+    
+    // Latest cursor position as (x << 32 | y), written by the mouse listener and resolved once per frame
+    private static final long NO_CURSOR = Long.MIN_VALUE;
+    private volatile long cursor = NO_CURSOR;
+    
+    // Hover state, resolved from the cursor by the render thread
     private Prayer hoveredPrayer = null;
-    private Prayer clickedPrayer = null;
-    private long clickFeedbackTime = 0;
-    private static final long CLICK_FEEDBACK_DURATION = 200; // 200ms click feedback
     private boolean isQuickPrayerButtonHovered = false;
-    private boolean isQuickPrayerButtonClicked = false;
-    private long buttonClickFeedbackTime = 0;
-    private boolean isDragging = false;
+    
+    // Interaction state, written by mouse listeners and read by the render thread
+    private volatile Prayer clickedPrayer = null;
+    private volatile long clickFeedbackTime = 0;
+    private static final long CLICK_FEEDBACK_DURATION = 200; // 200ms click feedback
+    private volatile boolean isQuickPrayerButtonClicked = false;
+    private volatile long buttonClickFeedbackTime = 0;
+    private volatile boolean isDragging = false;
     private Point dragStartPoint = null;
     private Point overlayStartPosition = null;
     
-    // Transition state tracking for smooth animations
-    private final Map<Prayer, TransitionState> prayerTransitions = new HashMap<>();
-    private TransitionState buttonTransition = new TransitionState();
+    // Background transitions, one slot per prayer ordinal plus the quick prayer button
+    private final ColorTransitionEngine transitions = new ColorTransitionEngine(PRAYER_COUNT + 1);
     
-    // Error handling state
-    private String lastError = null;
-    private long lastErrorTime = 0;
+    // Error handling state, replaced as a whole so the render thread never sees a torn message
+    private volatile ShownError lastError = null;
+    private final Object errorLock = new Object();
     private static final long ERROR_DISPLAY_DURATION = 3000; // 3 seconds
+    private static final int ERROR_MESSAGE_HEIGHT = 15;
+    
+    // Prayers the grid shows, rebuilt when its inputs change, render thread only
+    private PrayerGridFilter gridFilter;
+    
+    // Retained mode: the last composed frame and the state it was composed from
+    private final ComposeBuffer composeBuffer = new ComposeBuffer();
+    private RenderSettings composedSettings;
+    private GameStateSnapshot composedState;
+    private long composedStateKey;
+    private Dimension composedSize;
     
-    // Helper class for managing smooth transitions
-    private static class TransitionState
+    // Last stored position handed to setPreferredLocation, compared by identity
+    private Point appliedPosition;
+    
+    // Clock sample shared by everything drawn in the frame being composed
+    private long frameTime;
+    
+    // Cached text labels, the points label is keyed by (current << 16 | max) prayer points
+    private TextLabelCache.Label pointsLabel;
+    private int pointsLabelValue;
+    private TextLabelCache.Label buttonLabel;
+    
+    public PrayerManagerOverlay()
     {
-        private Color currentColor;
-        private Color targetColor;
-        private long transitionStartTime;
-        private boolean isTransitioning;
-        
-        public TransitionState()
+        setPosition(OverlayPosition.DYNAMIC);
+        setDragTargetable(true);
+        setResizable(false);
+        setPriority(OverlayPriority.HIGH);
+        setMovable(true);
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics)
+    {
+        long start = profiler.begin();
+        try
         {
-            this.currentColor = null;
-            this.targetColor = null;
-            this.isTransitioning = false;
+            return renderFrame(graphics);
         }
-        
-        public void startTransition(Color from, Color to)
+        finally
         {
-            if (from == null) from = to;
-            this.currentColor = from;
-            this.targetColor = to;
-            this.transitionStartTime = System.currentTimeMillis();
-            this.isTransitioning = true;
+            profiler.end(RenderProfiler.Section.PANEL, start);
         }
-        
-        public Color getCurrentColor()
+    }
+
+    private Dimension renderFrame(Graphics2D graphics)
+    {
+        RenderSettings settings = this.settings;
+        GameStateSnapshot state = gameStateTracker.getSnapshot();
+        long now;
+        long stateKey;
+        try
         {
-            if (!isTransitioning || currentColor == null || targetColor == null)
+            if (settings == null || !state.loggedIn)
             {
-                return targetColor != null ? targetColor : currentColor;
-            }
-            
-            long elapsed = System.currentTimeMillis() - transitionStartTime;
-            if (elapsed >= TRANSITION_DURATION)
-            {
-                isTransitioning = false;
-                currentColor = targetColor;
-                return currentColor;
+                return null;
             }
+
+            applyStoredPosition();
             
-            float progress = (float) elapsed / TRANSITION_DURATION;
-            return interpolateColor(currentColor, targetColor, progress);
+            resolveHover();
+            now = clock.currentTimeMillis();
+            stateKey = computeStateKey(settings, now);
         }
-        
-        private Color interpolateColor(Color from, Color to, float progress)
+        catch (Exception e)
         {
-            progress = Math.max(0, Math.min(1, progress)); // Clamp to [0,1]
-            
-            int r = (int) (from.getRed() + (to.getRed() - from.getRed()) * progress);
-            int g = (int) (from.getGreen() + (to.getGreen() - from.getGreen()) * progress);
-            int b = (int) (from.getBlue() + (to.getBlue() - from.getBlue()) * progress);
-            int a = (int) (from.getAlpha() + (to.getAlpha() - from.getAlpha()) * progress);
-            
-            return new Color(r, g, b, a);
+            handleError("Error in overlay render setup", e);
+            return null;
+        }
+
+        // Retained mode: while nothing visible changed and nothing is animating, reuse the last frame
+        if (composedSize != null && settings == composedSettings && state == composedState
+            && stateKey == composedStateKey && !isAnimating(now))
+        {
+            blitComposed(graphics, settings, composedSize);
+            return composedSize;
+        }
+
+        frameTime = now;
+        transitions.advance(now);
+        Graphics2D composeGraphics = composeBuffer.begin(graphics, getMaxWidth(settings), getComposeHeight(settings));
+        Dimension size;
+        try
+        {
+            size = renderPanel(composeGraphics, settings, state);
+        }
+        finally
+        {
+            composeGraphics.dispose();
+        }
+
+        composedSettings = settings;
+        composedState = state;
+        composedStateKey = stateKey;
+        composedSize = size;
+
+        if (size == null)
+        {
+            return null;
         }
+
+        positionStore.setSize(OverlayPositionStore.Slot.PRAYER_GRID, size.width, size.height);
+
+        blitComposed(graphics, settings, size);
+        return size;
     }
 
-    public PrayerManagerOverlay()
+    private void blitComposed(Graphics2D graphics, RenderSettings settings, Dimension size)
     {
-        setPosition(OverlayPosition.DYNAMIC);
-        setDragTargetable(true);
-        setResizable(false);
-        setPriority(OverlayPriority.HIGH);
-        setMovable(true);
+        // The panel is composed opaque, overlay opacity and the extra drag transparency apply here once
+        composeBuffer.blit(graphics, size.width, size.height,
+            isDragging ? settings.dragOpacityComposite : settings.opacityComposite);
     }
 
-    @Override
-    public Dimension render(Graphics2D graphics)
+    private Dimension renderPanel(Graphics2D graphics, RenderSettings settings, GameStateSnapshot state)
     {
         try
         {
-            if (client.getGameState() != GameState.LOGGED_IN)
-            {
-                return null;
-            }
-
-            // Load saved position if not already loaded
-            loadSavedPosition();
-            
-            // Apply overlay opacity setting
-            float opacity = config.overlayOpacity() / 100.0f;
-            if (isDragging)
-            {
-                opacity *= 0.7f; // Additional transparency during drag
-            }
-            graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity));
-            
             // Apply visual feedback during dragging
             if (isDragging)
             {
@@ -169,8 +229,8 @@ public class PrayerManagerOverlay extends OverlayPanel
                 Dimension size = getPreferredSize();
                 if (size != null)
                 {
-                    graphics.setColor(new Color(255, 255, 0, 100));
-                    graphics.setStroke(new BasicStroke(2.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 0, new float[]{5}, 0));
+                    graphics.setColor(settings.palette.panelDragBorder);
+                    graphics.setStroke(settings.palette.panelDragStroke);
                     graphics.drawRect(0, 0, size.width - 1, size.height - 1);
                 }
             }
@@ -182,31 +242,49 @@ public class PrayerManagerOverlay extends OverlayPanel
         }
 
         int yOffset = 0;
+        int buttonY = 0;
+        int buttonSize = 0;
+        PrayerGridLayout grid = null;
 
         try
         {
             // Render prayer points bar
-            if (config.showPrayerPoints())
+            if (settings.showPrayerPoints)
             {
-                yOffset += renderPrayerPointsBar(graphics, yOffset) + COMPONENT_SPACING;
+                long start = profiler.begin();
+                yOffset += renderPrayerPointsBar(graphics, settings, state, yOffset) + COMPONENT_SPACING;
+                profiler.end(RenderProfiler.Section.POINTS_BAR, start);
             }
 
             // Render quick prayer button
-            if (config.showQuickPrayerButton())
+            if (settings.showQuickPrayerButton)
             {
-                yOffset += renderQuickPrayerButton(graphics, yOffset) + COMPONENT_SPACING;
+                buttonY = yOffset;
+                buttonSize = settings.quickPrayerButtonSize;
+                long start = profiler.begin();
+                yOffset += renderQuickPrayerButton(graphics, settings, state, yOffset) + COMPONENT_SPACING;
+                profiler.end(RenderProfiler.Section.QUICK_PRAYER_BUTTON, start);
             }
 
-            // Render prayer grid
-            if (config.showPrayerGrid())
+            // Render prayer grid, unless the filters left nothing to show
+            if (settings.showPrayerGrid)
             {
-                yOffset += renderPrayerGrid(graphics, yOffset);
+                long start = profiler.begin();
+                grid = getGridLayout(settings, state, yOffset);
+                if (grid != null)
+                {
+                    yOffset += renderPrayerGrid(graphics, settings, state, grid);
+                }
+                profiler.end(RenderProfiler.Section.PRAYER_GRID, start);
             }
             
             // Render error message if there's a recent error and error handling is not silent
-            if (shouldShowError())
+            ShownError error = getShownError(settings);
+            if (error != null)
             {
-                yOffset += renderErrorMessage(graphics, yOffset) + COMPONENT_SPACING;
+                long start = profiler.begin();
+                yOffset += renderErrorMessage(graphics, settings, error, yOffset) + COMPONENT_SPACING;
+                profiler.end(RenderProfiler.Section.ERROR_MESSAGE, start);
             }
         }
         catch (Exception e)
@@ -218,15 +296,104 @@ public class PrayerManagerOverlay extends OverlayPanel
             return new Dimension(200, 20);
         }
 
-        return new Dimension(getMaxWidth(), Math.max(yOffset, 1));
+        int width = getMaxWidth(settings);
+        int height = Math.max(yOffset, 1);
+        publishLayout(width, height, buttonY, buttonSize, grid);
+        return new Dimension(width, height);
+    }
+
+    private PrayerGridLayout getGridLayout(RenderSettings settings, GameStateSnapshot state, int originY)
+    {
+        // The visible prayers only change with the settings, prayer book or prayer level
+        PrayerGridFilter filter = gridFilter;
+        if (filter == null || !filter.matches(settings, state.prayerBook, state.maxPrayerPoints))
+        {
+            filter = new PrayerGridFilter(settings, state.prayerBook, state.maxPrayerPoints, prayerCatalog, quickPrayerActions);
+            gridFilter = filter;
+        }
+
+        int[] ordinals = filter.getOrdinals();
+        if (ordinals.length == 0)
+        {
+            return null;
+        }
+
+        // The grid only changes with the visible prayers, the column count or the components above it
+        PanelLayout current = layout;
+        PrayerGridLayout grid = current != null ? current.getGrid() : null;
+        if (grid == null || !grid.matches(ordinals, settings.gridColumns, GRID_PADDING, originY))
+        {
+            grid = new PrayerGridLayout(ordinals, settings.gridColumns, GRID_PADDING, originY);
+        }
+        return grid;
+    }
+
+    private void publishLayout(int width, int height, int buttonY, int buttonSize, PrayerGridLayout grid)
+    {
+        PanelLayout current = layout;
+        if (current == null || !current.matches(width, height, buttonY, buttonSize, grid))
+        {
+            layout = new PanelLayout(width, height, buttonY, buttonSize, grid);
+        }
+    }
+
+    /**
+     * Packs the interaction state that changes what the panel looks like into one value. Together
+     * with the settings and game state instances this decides whether the last composed frame can
+     * be reused.
+     */
+    private long computeStateKey(RenderSettings settings, long now)
+    {
+        // Hover draws nothing while hover effects are off, moving the mouse must not recompose
+        boolean hover = settings.enableHoverEffects;
+        long key = !hover || hoveredPrayer == null ? 0 : hoveredPrayer.ordinal() + 1;
+        key = key << 1 | (hover && isQuickPrayerButtonHovered ? 1 : 0);
+        key = key << 1 | (isDragging ? 1 : 0);
+        key = key << 1 | (now - clickFeedbackTime < CLICK_FEEDBACK_DURATION ? 1 : 0);
+        key = key << 1 | (now - buttonClickFeedbackTime < CLICK_FEEDBACK_DURATION ? 1 : 0);
+        ShownError error = getShownError(settings);
+        if (error != null)
+        {
+            // The shown message, so a different error replaces the one already composed
+            key = key << 1 | 1;
+            key |= (long) error.sequence << 32;
+        }
+        else
+        {
+            key <<= 1;
+        }
+        return key;
+    }
+
+    /**
+     * Whether the panel has to be redrawn every frame regardless of its state key, i.e. while a
+     * click flash or a color transition is in progress.
+     */
+    private boolean isAnimating(long now)
+    {
+        return transitions.isAnimating()
+            || (clickedPrayer != null && now - clickFeedbackTime < CLICK_FEEDBACK_DURATION)
+            || (isQuickPrayerButtonClicked && now - buttonClickFeedbackTime < CLICK_FEEDBACK_DURATION);
+    }
+
+    /**
+     * Upper bound for the panel height, including an error line.
+     */
+    private int getComposeHeight(RenderSettings settings)
+    {
+        int rows = (PRAYER_COUNT + settings.gridColumns - 1) / settings.gridColumns;
+        return 20 + COMPONENT_SPACING
+            + settings.quickPrayerButtonSize + COMPONENT_SPACING
+            + rows * (PRAYER_TILE_HEIGHT + GRID_PADDING)
+            + ERROR_MESSAGE_HEIGHT + COMPONENT_SPACING;
     }
 
-    private int renderPrayerPointsBar(Graphics2D graphics, int yOffset)
+    private int renderPrayerPointsBar(Graphics2D graphics, RenderSettings settings, GameStateSnapshot state, int yOffset)
     {
         try
         {
-            int currentPrayer = client.getBoostedSkillLevel(Skill.PRAYER);
-            int maxPrayer = client.getRealSkillLevel(Skill.PRAYER);
+            int currentPrayer = state.prayerPoints;
+            int maxPrayer = state.maxPrayerPoints;
 
             if (maxPrayer == 0) return 0;
 
@@ -235,30 +402,29 @@ public class PrayerManagerOverlay extends OverlayPanel
             double percentage = (double) currentPrayer / maxPrayer;
 
             // Draw background
-            graphics.setColor(new Color(64, 64, 64));
+            graphics.setColor(settings.palette.pointsBarBackground);
             graphics.fillRect(0, yOffset, barWidth, barHeight);
 
             // Draw prayer bar using configured color scheme
             int fillWidth = (int) (barWidth * percentage);
-            Color barColor = config.prayerPointsBarColor().getColorForPercentage(percentage);
+            Color barColor = settings.palette.getPointsBarColor(percentage);
             graphics.setColor(barColor);
             graphics.fillRect(0, yOffset, fillWidth, barHeight);
 
             // Draw border using configured border color
-            graphics.setColor(config.borderColor());
+            graphics.setColor(settings.borderColor);
             graphics.drawRect(0, yOffset, barWidth - 1, barHeight - 1);
 
-            // Draw text using configured text color
-            String prayerText = currentPrayer + " / " + maxPrayer;
-            FontMetrics fm = graphics.getFontMetrics();
-            int textX = (barWidth - fm.stringWidth(prayerText)) / 2;
-            int textY = yOffset + (barHeight + fm.getAscent()) / 2;
-
-            // Text shadow for better readability
-            graphics.setColor(Color.BLACK);
-            graphics.drawString(prayerText, textX + 1, textY + 1);
-            graphics.setColor(config.textColor());
-            graphics.drawString(prayerText, textX, textY);
+            // Shadowed "current / max" text, only rebuilt when the points change
+            int pointsValue = currentPrayer << 16 | maxPrayer;
+            String prayerText = pointsLabel != null && pointsValue == pointsLabelValue
+                ? pointsLabel.getText()
+                : currentPrayer + " / " + maxPrayer;
+            pointsLabel = textCache.get(pointsLabel, graphics, prayerText, settings.textColor, true);
+            pointsLabelValue = pointsValue;
+            int textX = (barWidth - pointsLabel.getWidth()) / 2;
+            int textY = yOffset + (barHeight + pointsLabel.getAscent()) / 2;
+            pointsLabel.draw(graphics, textX, textY);
 
             return barHeight;
         }
@@ -269,45 +435,32 @@ public class PrayerManagerOverlay extends OverlayPanel
         }
     }
 
-    private int renderQuickPrayerButton(Graphics2D graphics, int yOffset)
+    private int renderQuickPrayerButton(Graphics2D graphics, RenderSettings settings, GameStateSnapshot state, int yOffset)
     {
         try
         {
-            int buttonSize = config.quickPrayerButtonSize().getSize();
-            boolean quickPrayerActive = client.getVarbitValue(Varbits.QUICK_PRAYER) == 1;
-            Color baseColor = config.quickPrayerButtonColor();
-
-            quickPrayerButtonBounds = new Rectangle(0, yOffset, buttonSize, buttonSize);
+            int buttonSize = settings.quickPrayerButtonSize;
+            boolean quickPrayerActive = state.quickPrayerActive;
 
-            // Determine button state and colors
-            Color backgroundColor = getButtonBackgroundColor(baseColor, quickPrayerActive);
-            
-            // Apply hover effect if enabled and button is hovered
-            if (config.enableHoverEffects() && isQuickPrayerButtonHovered)
-            {
-                backgroundColor = brightenColor(backgroundColor, 0.1f);
-            }
+            // Active is fully opaque, inactive half transparent, both brightened on hover
+            Color backgroundColor = settings.palette.getButtonBackground(quickPrayerActive,
+                settings.enableHoverEffects && isQuickPrayerButtonHovered);
             
             // Handle smooth transitions if enabled
-            if (config.enableSmoothTransitions())
+            if (settings.enableSmoothTransitions)
             {
-                Color targetColor = backgroundColor;
-                if (buttonTransition.currentColor == null || 
-                    !colorsEqual(buttonTransition.targetColor, targetColor))
-                {
-                    buttonTransition.startTransition(buttonTransition.currentColor, targetColor);
-                }
-                backgroundColor = buttonTransition.getCurrentColor();
+                transitions.setTarget(BUTTON_TRANSITION_SLOT, backgroundColor.getRGB());
+                backgroundColor = transitions.getColor(BUTTON_TRANSITION_SLOT);
             }
             
             // Apply click feedback effect if enabled
-            boolean isClickFeedbackActive = config.enableClickFeedback() && 
+            boolean isClickFeedbackActive = settings.enableClickFeedback && 
                                           isQuickPrayerButtonClicked && 
-                                          (System.currentTimeMillis() - buttonClickFeedbackTime) < CLICK_FEEDBACK_DURATION;
+                                          (frameTime - buttonClickFeedbackTime) < CLICK_FEEDBACK_DURATION;
             if (isClickFeedbackActive)
             {
                 // Scale animation effect - draw slightly smaller then back to normal
-                long elapsed = System.currentTimeMillis() - buttonClickFeedbackTime;
+                long elapsed = frameTime - buttonClickFeedbackTime;
                 float scale = elapsed < CLICK_FEEDBACK_DURATION / 2 ? 0.95f : 1.0f;
                 int scaledSize = (int) (buttonSize * scale);
                 int offset = (buttonSize - scaledSize) / 2;
@@ -316,7 +469,7 @@ public class PrayerManagerOverlay extends OverlayPanel
                 graphics.fillRect(offset, yOffset + offset, scaledSize, scaledSize);
                 
                 // Draw border for scaled button
-                graphics.setColor(quickPrayerActive ? config.activeBorderColor() : config.borderColor());
+                graphics.setColor(quickPrayerActive ? settings.activeBorderColor : settings.borderColor);
                 graphics.drawRect(offset, yOffset + offset, scaledSize - 1, scaledSize - 1);
             }
             else
@@ -326,388 +479,105 @@ public class PrayerManagerOverlay extends OverlayPanel
                 graphics.fillRect(0, yOffset, buttonSize, buttonSize);
 
                 // Draw border using configured colors
-                graphics.setColor(quickPrayerActive ? config.activeBorderColor() : config.borderColor());
+                graphics.setColor(quickPrayerActive ? settings.activeBorderColor : settings.borderColor);
                 graphics.drawRect(0, yOffset, buttonSize - 1, buttonSize - 1);
             }
 
-            // Draw "QP" text using configured text color
-            FontMetrics fm = graphics.getFontMetrics();
-            String text = "QP";
-            int textX = (buttonSize - fm.stringWidth(text)) / 2;
-            int textY = yOffset + (buttonSize + fm.getAscent()) / 2;
-            
-            // Add text shadow for better readability
-            graphics.setColor(Color.BLACK);
-            graphics.drawString(text, textX + 1, textY + 1);
-            graphics.setColor(config.textColor());
-            graphics.drawString(text, textX, textY);
+            // Draw shadowed "QP" text using configured text color
+            buttonLabel = textCache.get(buttonLabel, graphics, "QP", settings.textColor, true);
+            int textX = (buttonSize - buttonLabel.getWidth()) / 2;
+            int textY = yOffset + (buttonSize + buttonLabel.getAscent()) / 2;
+            buttonLabel.draw(graphics, textX, textY);
 
             return buttonSize;
         }
         catch (Exception e)
         {
             handleError("Error rendering quick prayer button", e);
-            return config.quickPrayerButtonSize().getSize(); // Return expected size even on error
+            return settings.quickPrayerButtonSize; // Return expected size even on error
         }
     }
     
-    private Color getButtonBackgroundColor(Color baseColor, boolean isActive)
+    private int renderPrayerGrid(Graphics2D graphics, RenderSettings settings, GameStateSnapshot state, PrayerGridLayout layout)
     {
-        if (baseColor == null) baseColor = Color.BLUE; // Fallback
-        
-        if (isActive)
-        {
-            // Active: full opacity
-            return new Color(baseColor.getRed(), baseColor.getGreen(), baseColor.getBlue(), 255);
-        }
-        else
-        {
-            // Inactive: 50% opacity
-            return new Color(baseColor.getRed(), baseColor.getGreen(), baseColor.getBlue(), 127);
-        }
-    }
-    
-    private Color brightenColor(Color color, float factor)
-    {
-        if (color == null) return null;
-        
-        int r = Math.min(255, (int) (color.getRed() * (1 + factor)));
-        int g = Math.min(255, (int) (color.getGreen() * (1 + factor)));
-        int b = Math.min(255, (int) (color.getBlue() * (1 + factor)));
-        return new Color(r, g, b, color.getAlpha());
-    }
-
-    private int renderPrayerGrid(Graphics2D graphics, int yOffset)
-    {
-        Prayer[] prayers = Prayer.values();
-        int columns = config.gridColumns();
-        int rows = (prayers.length + columns - 1) / columns;
+        int yOffset = layout.getOriginY();
 
-        synchronized (prayerBounds)
-        {
-            prayerBounds.clear();
-        }
+        // Selection as of the snapshot, consistent with everything else drawn this frame
+        long selectedBits = state.selectedBits;
 
-        int gridWidth = columns * (PRAYER_TILE_WIDTH + GRID_PADDING) - GRID_PADDING;
-        int gridHeight = rows * (PRAYER_TILE_HEIGHT + GRID_PADDING) - GRID_PADDING;
+        int gridWidth = layout.getWidth();
+        int gridHeight = layout.getHeight();
 
         // Draw grid background
-        graphics.setColor(new Color(0, 0, 0, 100));
+        graphics.setColor(settings.palette.gridBackground);
         graphics.fillRect(0, yOffset, gridWidth, gridHeight);
 
-        // Set up font for prayer names - use a readable size
-        Font originalFont = graphics.getFont();
-        Font prayerFont = new Font(Font.SANS_SERIF, Font.PLAIN, 10);
-        graphics.setFont(prayerFont);
-
-
-
-        for (int i = 0; i < prayers.length; i++)
+        for (int cell = 0; cell < layout.getCellCount(); cell++)
         {
-            Prayer prayer = prayers[i];
-            int row = i / columns;
-            int col = i % columns;
-
-            int x = col * (PRAYER_TILE_WIDTH + GRID_PADDING);
-            int y = yOffset + row * (PRAYER_TILE_HEIGHT + GRID_PADDING);
-
-            Rectangle bounds = new Rectangle(x, y, PRAYER_TILE_WIDTH, PRAYER_TILE_HEIGHT);
-            synchronized (prayerBounds)
+            int ordinal = layout.getOrdinal(cell);
+            if (ordinal == -1)
             {
-                prayerBounds.put(prayer, bounds);
+                continue;
             }
 
+            Prayer prayer = PRAYERS[ordinal];
+            int x = layout.getTileX(cell);
+            int y = layout.getTileY(cell);
+
             // Check if prayer is selected in quick prayers
-            boolean isSelected = isQuickPrayerSelected(prayer);
-            boolean isHovered = config.enableHoverEffects() && prayer.equals(hoveredPrayer);
-            boolean isClicked = config.enableClickFeedback() && 
+            boolean isSelected = (selectedBits & (1L << ordinal)) != 0;
+            boolean isHovered = settings.enableHoverEffects && prayer.equals(hoveredPrayer);
+            boolean isClicked = settings.enableClickFeedback && 
                               prayer.equals(clickedPrayer) && 
-                              (System.currentTimeMillis() - clickFeedbackTime) < CLICK_FEEDBACK_DURATION;
+                              (frameTime - clickFeedbackTime) < CLICK_FEEDBACK_DURATION;
 
-            // Determine background color based on state using configured colors
-            Color backgroundColor;
+            // Determine background state, click flash wins over selection and hover
+            int background;
             if (isClicked) {
-                // Bright flash for click feedback
-                backgroundColor = new Color(255, 255, 255, 180);
+                background = PrayerTileAtlas.BACKGROUND_CLICKED;
             } else if (isSelected) {
-                backgroundColor = config.selectedPrayerColor();
+                background = PrayerTileAtlas.BACKGROUND_SELECTED;
             } else if (isHovered) {
-                backgroundColor = config.hoverColor();
+                background = PrayerTileAtlas.BACKGROUND_HOVER;
             } else {
-                backgroundColor = config.unselectedPrayerColor();
+                background = PrayerTileAtlas.BACKGROUND_UNSELECTED;
             }
             
+            String prayerName = prayerCatalog.getDisplayName(ordinal);
+            
             // Handle smooth transitions if enabled
-            if (config.enableSmoothTransitions())
+            if (settings.enableSmoothTransitions)
             {
-                TransitionState transition = prayerTransitions.computeIfAbsent(prayer, k -> new TransitionState());
-                if (transition.currentColor == null || 
-                    !colorsEqual(transition.targetColor, backgroundColor))
+                transitions.setTarget(ordinal, PrayerTileAtlas.getBackgroundColor(settings, background).getRGB());
+                if (transitions.isTransitioning(ordinal))
                 {
-                    transition.startTransition(transition.currentColor, backgroundColor);
+                    // Background is between two states, fill it and blit only border and label
+                    graphics.setColor(transitions.getColor(ordinal));
+                    graphics.fillRect(x, y, PRAYER_TILE_WIDTH, PRAYER_TILE_HEIGHT);
+                    tileAtlas.drawChrome(graphics, settings, prayer, prayerName, isHovered, x, y);
+                    continue;
                 }
-                backgroundColor = transition.getCurrentColor();
             }
 
-            // Draw prayer tile background
-            graphics.setColor(backgroundColor);
-            graphics.fillRect(x, y, PRAYER_TILE_WIDTH, PRAYER_TILE_HEIGHT);
-
-            // Draw prayer tile border using configured border color
-            graphics.setColor(config.borderColor());
-            graphics.drawRect(x, y, PRAYER_TILE_WIDTH - 1, PRAYER_TILE_HEIGHT - 1);
-
-            // Add hover effect with brighter border if enabled
-            if (isHovered && config.enableHoverEffects()) {
-                Color hoverBorderColor = brightenColor(config.borderColor(), 0.3f);
-                graphics.setColor(hoverBorderColor);
-                graphics.drawRect(x + 1, y + 1, PRAYER_TILE_WIDTH - 3, PRAYER_TILE_HEIGHT - 3);
-            }
-
-            // Draw prayer name (full name or abbreviated if too long)
-            String prayerName = getPrayerDisplayName(prayer);
-            FontMetrics fm = graphics.getFontMetrics();
-            
-            // Center the text horizontally and vertically
-            int textX = x + (PRAYER_TILE_WIDTH - fm.stringWidth(prayerName)) / 2;
-            int textY = y + (PRAYER_TILE_HEIGHT + fm.getAscent()) / 2 - 1;
-
-            // Draw text shadow for better readability
-            graphics.setColor(Color.BLACK);
-            graphics.drawString(prayerName, textX + 1, textY + 1);
-            
-            // Draw main text using configured text color
-            graphics.setColor(config.textColor());
-            graphics.drawString(prayerName, textX, textY);
+            // Settled tile, a single blit from the atlas
+            tileAtlas.drawTile(graphics, settings, prayer, prayerName, background, isHovered, x, y);
         }
 
-        // Restore original font
-        graphics.setFont(originalFont);
-
         return gridHeight;
     }
 
     private boolean isQuickPrayerSelected(Prayer prayer)
     {
-        int varbitId = getQuickPrayerVarbitId(prayer);
-        return varbitId != -1 && client.getVarbitValue(varbitId) == 1;
-    }
-
-    private int getQuickPrayerVarbitId(Prayer prayer)
-    {
-        // Map prayers to their quick prayer varbit IDs
-        switch (prayer)
-        {
-            case THICK_SKIN: return 4102;
-            case BURST_OF_STRENGTH: return 4103;
-            case CLARITY_OF_THOUGHT: return 4104;
-            case SHARP_EYE: return 4105;
-            case MYSTIC_WILL: return 4106;
-            case ROCK_SKIN: return 4107;
-            case SUPERHUMAN_STRENGTH: return 4108;
-            case IMPROVED_REFLEXES: return 4109;
-            case RAPID_RESTORE: return 4110;
-            case RAPID_HEAL: return 4111;
-            case PROTECT_ITEM: return 4112;
-            case HAWK_EYE: return 4113;
-            case MYSTIC_LORE: return 4114;
-            case STEEL_SKIN: return 4115;
-            case ULTIMATE_STRENGTH: return 4116;
-            case INCREDIBLE_REFLEXES: return 4117;
-            case PROTECT_FROM_MAGIC: return 4118;
-            case PROTECT_FROM_MISSILES: return 4119;
-            case PROTECT_FROM_MELEE: return 4120;
-            case EAGLE_EYE: return 4121;
-            case MYSTIC_MIGHT: return 4122;
-            case RETRIBUTION: return 4123;
-            case REDEMPTION: return 4124;
-            case SMITE: return 4125;
-            case CHIVALRY: return 4127;
-            case DEADEYE: return 4128;
-            case MYSTIC_VIGOUR: return 4129;
-            case PIETY: return 4130;
-            case PRESERVE: return 4126;
-            case RIGOUR: return 4131;
-            case AUGURY: return 4132;
-            // Ruinous Powers prayers - these may use different varbits or not support quick prayers
-            case RP_REJUVENATION: return -1; // Not supported in quick prayers
-            case RP_ANCIENT_STRENGTH: return -1;
-            case RP_ANCIENT_SIGHT: return -1;
-            case RP_ANCIENT_WILL: return -1;
-            case RP_PROTECT_ITEM: return -1;
-            case RP_RUINOUS_GRACE: return -1;
-            case RP_DAMPEN_MAGIC: return -1;
-            case RP_DAMPEN_RANGED: return -1;
-            case RP_DAMPEN_MELEE: return -1;
-            case RP_TRINITAS: return -1;
-            case RP_BERSERKER: return -1;
-            case RP_PURGE: return -1;
-            case RP_METABOLISE: return -1;
-            case RP_REBUKE: return -1;
-            case RP_VINDICATION: return -1;
-            case RP_DECIMATE: return -1;
-            case RP_ANNIHILATE: return -1;
-            case RP_VAPORISE: return -1;
-            case RP_FUMUS_VOW: return -1;
-            case RP_UMBRA_VOW: return -1;
-            case RP_CRUORS_VOW: return -1;
-            case RP_GLACIES_VOW: return -1;
-            case RP_WRATH: return -1;
-            case RP_INTENSIFY: return -1;
-            default: return -1;
-        }
-    }
-
-    private String getPrayerDisplayName(Prayer prayer)
-    {
-        // With 60px width, we can fit most prayer names or use smart abbreviations
-        String fullName = getPrayerFullName(prayer);
-        
-        // Simple length-based check - most characters are ~6px wide at size 10
-        // With 58px available width (60px - 2px padding), we can fit ~9-10 characters
-        if (fullName.length() <= 9) {
-            return fullName;
-        }
-        
-        // Otherwise use abbreviation
-        return getPrayerAbbreviation(prayer);
-    }
-
-    private String getPrayerFullName(Prayer prayer)
-    {
-        switch (prayer)
-        {
-            case THICK_SKIN: return "Thick Skin";
-            case BURST_OF_STRENGTH: return "Burst Str";
-            case CLARITY_OF_THOUGHT: return "Clarity";
-            case SHARP_EYE: return "Sharp Eye";
-            case MYSTIC_WILL: return "Mystic Will";
-            case ROCK_SKIN: return "Rock Skin";
-            case SUPERHUMAN_STRENGTH: return "Super Str";
-            case IMPROVED_REFLEXES: return "Imp Reflex";
-            case RAPID_RESTORE: return "Rapid Rest";
-            case RAPID_HEAL: return "Rapid Heal";
-            case PROTECT_ITEM: return "Prot Item";
-            case HAWK_EYE: return "Hawk Eye";
-            case MYSTIC_LORE: return "Myst Lore";
-            case STEEL_SKIN: return "Steel Skin";
-            case ULTIMATE_STRENGTH: return "Ult Str";
-            case INCREDIBLE_REFLEXES: return "Inc Reflex";
-            case PROTECT_FROM_MAGIC: return "Prot Mage";
-            case PROTECT_FROM_MISSILES: return "Prot Range";
-            case PROTECT_FROM_MELEE: return "Prot Melee";
-            case EAGLE_EYE: return "Eagle Eye";
-            case MYSTIC_MIGHT: return "Myst Might";
-            case RETRIBUTION: return "Retrib";
-            case REDEMPTION: return "Redemp";
-            case SMITE: return "Smite";
-            case CHIVALRY: return "Chivalry";
-            case DEADEYE: return "Deadeye";
-            case MYSTIC_VIGOUR: return "Myst Vigour";
-            case PIETY: return "Piety";
-            case PRESERVE: return "Preserve";
-            case RIGOUR: return "Rigour";
-            case AUGURY: return "Augury";
-            // Ruinous Powers prayers
-            case RP_REJUVENATION: return "Rejuv";
-            case RP_ANCIENT_STRENGTH: return "Anc Str";
-            case RP_ANCIENT_SIGHT: return "Anc Sight";
-            case RP_ANCIENT_WILL: return "Anc Will";
-            case RP_PROTECT_ITEM: return "RP Item";
-            case RP_RUINOUS_GRACE: return "Ruin Grace";
-            case RP_DAMPEN_MAGIC: return "Damp Mage";
-            case RP_DAMPEN_RANGED: return "Damp Range";
-            case RP_DAMPEN_MELEE: return "Damp Melee";
-            case RP_TRINITAS: return "Trinitas";
-            case RP_BERSERKER: return "Berserker";
-            case RP_PURGE: return "Purge";
-            case RP_METABOLISE: return "Metabol";
-            case RP_REBUKE: return "Rebuke";
-            case RP_VINDICATION: return "Vindicat";
-            case RP_DECIMATE: return "Decimate";
-            case RP_ANNIHILATE: return "Annihil";
-            case RP_VAPORISE: return "Vaporise";
-            case RP_FUMUS_VOW: return "Fumus";
-            case RP_UMBRA_VOW: return "Umbra";
-            case RP_CRUORS_VOW: return "Cruors";
-            case RP_GLACIES_VOW: return "Glacies";
-            case RP_WRATH: return "Wrath";
-            case RP_INTENSIFY: return "Intensify";
-            default: return "Unknown";
-        }
-    }
-
-    private String getPrayerAbbreviation(Prayer prayer)
-    {
-        switch (prayer)
-        {
-            case THICK_SKIN: return "Thick";
-            case BURST_OF_STRENGTH: return "Burst";
-            case CLARITY_OF_THOUGHT: return "Clarity";
-            case SHARP_EYE: return "Sharp";
-            case MYSTIC_WILL: return "Mystic";
-            case ROCK_SKIN: return "Rock";
-            case SUPERHUMAN_STRENGTH: return "Super";
-            case IMPROVED_REFLEXES: return "Reflex";
-            case RAPID_RESTORE: return "Restore";
-            case RAPID_HEAL: return "Heal";
-            case PROTECT_ITEM: return "Item";
-            case HAWK_EYE: return "Hawk";
-            case MYSTIC_LORE: return "Lore";
-            case STEEL_SKIN: return "Steel";
-            case ULTIMATE_STRENGTH: return "Ultimate";
-            case INCREDIBLE_REFLEXES: return "Incredib";
-            case PROTECT_FROM_MAGIC: return "Mage";
-            case PROTECT_FROM_MISSILES: return "Range";
-            case PROTECT_FROM_MELEE: return "Melee";
-            case EAGLE_EYE: return "Eagle";
-            case MYSTIC_MIGHT: return "Might";
-            case RETRIBUTION: return "Retrib";
-            case REDEMPTION: return "Redemp";
-            case SMITE: return "Smite";
-            case CHIVALRY: return "Chiv";
-            case DEADEYE: return "Dead";
-            case MYSTIC_VIGOUR: return "Vigour";
-            case PIETY: return "Piety";
-            case PRESERVE: return "Preserve";
-            case RIGOUR: return "Rigour";
-            case AUGURY: return "Augury";
-            // Ruinous Powers prayers
-            case RP_REJUVENATION: return "Rejuv";
-            case RP_ANCIENT_STRENGTH: return "AncStr";
-            case RP_ANCIENT_SIGHT: return "AncSgt";
-            case RP_ANCIENT_WILL: return "AncWil";
-            case RP_PROTECT_ITEM: return "RPItem";
-            case RP_RUINOUS_GRACE: return "RGrace";
-            case RP_DAMPEN_MAGIC: return "DMage";
-            case RP_DAMPEN_RANGED: return "DRange";
-            case RP_DAMPEN_MELEE: return "DMelee";
-            case RP_TRINITAS: return "Trinit";
-            case RP_BERSERKER: return "Bersrk";
-            case RP_PURGE: return "Purge";
-            case RP_METABOLISE: return "Metab";
-            case RP_REBUKE: return "Rebuke";
-            case RP_VINDICATION: return "Vindic";
-            case RP_DECIMATE: return "Decim";
-            case RP_ANNIHILATE: return "Annih";
-            case RP_VAPORISE: return "Vapor";
-            case RP_FUMUS_VOW: return "Fumus";
-            case RP_UMBRA_VOW: return "Umbra";
-            case RP_CRUORS_VOW: return "Cruors";
-            case RP_GLACIES_VOW: return "Glacies";
-            case RP_WRATH: return "Wrath";
-            case RP_INTENSIFY: return "Intens";
-            default: return "?";
-        }
+        return quickPrayerState.isSelected(prayer);
     }
 
-    private int getMaxWidth()
+    private int getMaxWidth(RenderSettings settings)
     {
         int maxWidth = 200; // Prayer points bar width
 
-        if (config.showPrayerGrid())
+        if (settings.showPrayerGrid)
         {
-            int gridWidth = config.gridColumns() * (PRAYER_TILE_WIDTH + GRID_PADDING) - GRID_PADDING;
+            int gridWidth = settings.gridColumns * (PRAYER_TILE_WIDTH + GRID_PADDING) - GRID_PADDING;
             maxWidth = Math.max(maxWidth, gridWidth);
         }
 
@@ -723,34 +593,14 @@ public class PrayerManagerOverlay extends OverlayPanel
             location = new Point(0, 0);
         }
         
-        // Calculate actual overlay height based on enabled components
-        int totalHeight = 0;
-        
-        if (config.showPrayerPoints())
-        {
-            totalHeight += 20 + COMPONENT_SPACING; // Prayer points bar height
-        }
-        
-        if (config.showQuickPrayerButton())
-        {
-            totalHeight += config.quickPrayerButtonSize().getSize() + COMPONENT_SPACING; // Quick prayer button height
-        }
-        
-        if (config.showPrayerGrid())
+        // Size of the last rendered panel, empty until the first frame
+        PanelLayout layout = this.layout;
+        if (layout == null)
         {
-            Prayer[] prayers = Prayer.values();
-            int columns = config.gridColumns();
-            int rows = (prayers.length + columns - 1) / columns;
-            totalHeight += rows * (PRAYER_TILE_HEIGHT + GRID_PADDING) - GRID_PADDING;
+            return new Rectangle(location.x, location.y, 0, 0);
         }
         
-        // Remove the last component spacing if we added any components
-        if (totalHeight > 0 && (config.showPrayerPoints() || config.showQuickPrayerButton()))
-        {
-            totalHeight -= COMPONENT_SPACING;
-        }
-        
-        return new Rectangle(location.x, location.y, getMaxWidth(), Math.max(totalHeight, 1));
+        return new Rectangle(location.x, location.y, layout.getWidth(), layout.getHeight());
     }
 
     public void updatePrayerStates()
@@ -758,56 +608,48 @@ public class PrayerManagerOverlay extends OverlayPanel
         // Called when prayer states change - overlay will update on next render
     }
 
+    /**
+     * Publishes a new settings snapshot. Cached tiles are redrawn lazily because the
+     * atlas is keyed on the snapshot instance.
+     */
+    public void setRenderSettings(RenderSettings settings)
+    {
+        this.settings = settings;
+    }
+
     public Prayer getPrayerAtPoint(Point point)
     {
-        // Convert screen coordinates to overlay-relative coordinates
-        Point overlayPoint = getOverlayRelativePoint(point);
-        
-        // Use synchronized access to avoid ConcurrentModificationException
-        synchronized (prayerBounds)
+        PanelLayout layout = this.layout;
+        if (layout == null)
         {
-            for (Map.Entry<Prayer, Rectangle> entry : prayerBounds.entrySet())
-            {
-                if (entry.getValue().contains(overlayPoint))
-                {
-                    return entry.getKey();
-                }
-            }
+            return null;
         }
-        return null;
+        
+        Point location = getPreferredLocation();
+        return layout.prayerAt(point.x - getOriginX(location), point.y - getOriginY(location));
     }
 
     public boolean isQuickPrayerButtonClicked(Point point)
     {
-        if (quickPrayerButtonBounds == null) 
+        PanelLayout layout = this.layout;
+        if (layout == null)
         {
             return false;
         }
         
-        Point overlayPoint = getOverlayRelativePoint(point);
-        return quickPrayerButtonBounds.contains(overlayPoint);
+        Point location = getPreferredLocation();
+        return layout.isInQuickPrayerButton(point.x - getOriginX(location), point.y - getOriginY(location));
     }
-    
-    private boolean isPointInQuickPrayerButton(Point point)
+
+    // Canvas to overlay-relative conversion, without allocating a Point per mouse event
+    private static int getOriginX(Point location)
     {
-        if (quickPrayerButtonBounds == null) return false;
-        
-        Point overlayPoint = getOverlayRelativePoint(point);
-        return quickPrayerButtonBounds.contains(overlayPoint);
+        return location != null ? location.x : 0;
     }
 
-    private Point getOverlayRelativePoint(Point screenPoint)
+    private static int getOriginY(Point location)
     {
-        // For RuneLite OverlayPanel, the mouse coordinates need to be converted
-        // from screen coordinates to overlay-relative coordinates
-        Point location = getPreferredLocation();
-        if (location == null)
-        {
-            location = new Point(0, 0);
-        }
-        
-        // Convert screen coordinates to overlay-relative coordinates
-        return new Point(screenPoint.x - location.x, screenPoint.y - location.y);
+        return location != null ? location.y : 0;
     }
 
     /**
@@ -816,12 +658,10 @@ public class PrayerManagerOverlay extends OverlayPanel
      */
     public MouseEvent handleMouseClick(MouseEvent mouseEvent)
     {
-        Point clickPoint = mouseEvent.getPoint();
-        
-        if (isWithinOverlayBounds(clickPoint))
+        if (isWithinOverlayBounds(mouseEvent.getX(), mouseEvent.getY()))
         {
             // Check if the click is on an interactive element
-            if (isWithinInteractiveElement(clickPoint))
+            if (isWithinInteractiveElement(mouseEvent.getX(), mouseEvent.getY()))
             {
                 handleOverlayClick(mouseEvent);
                 mouseEvent.consume(); // Consume the event to prevent pass-through
@@ -847,7 +687,7 @@ public class PrayerManagerOverlay extends OverlayPanel
             return null;
         }
         
-        if (isWithinOverlayBounds(mouseEvent.getPoint()))
+        if (isWithinOverlayBounds(mouseEvent.getX(), mouseEvent.getY()))
         {
             // Consume press events within overlay bounds to prevent pass-through
             mouseEvent.consume();
@@ -866,7 +706,7 @@ public class PrayerManagerOverlay extends OverlayPanel
             return null;
         }
         
-        if (isWithinOverlayBounds(mouseEvent.getPoint()))
+        if (isWithinOverlayBounds(mouseEvent.getX(), mouseEvent.getY()))
         {
             // Consume release events within overlay bounds to prevent pass-through
             mouseEvent.consume();
@@ -876,8 +716,8 @@ public class PrayerManagerOverlay extends OverlayPanel
     }
 
     /**
-     * Handles mouse movement events for hover effects.
-     * Returns null if the event should be consumed, otherwise returns the original event.
+     * Handles mouse movement events for hover effects. Only records the cursor, hover is resolved
+     * by the next frame. Never consumes the event.
      */
     public MouseEvent handleMouseMove(MouseEvent mouseEvent)
     {
@@ -885,64 +725,58 @@ public class PrayerManagerOverlay extends OverlayPanel
             return null;
         }
         
-        if (isWithinOverlayBounds(mouseEvent.getPoint()))
-        {
-            updateHoverState(mouseEvent.getPoint());
-            return mouseEvent; // Don't consume mouse move events
-        } else {
-            // Clear hover state when mouse leaves overlay
-            if (hoveredPrayer != null) {
-                hoveredPrayer = null;
-            }
-            if (isQuickPrayerButtonHovered) {
-                isQuickPrayerButtonHovered = false;
-            }
-        }
-        return mouseEvent;
+        cursor = (long) mouseEvent.getX() << 32 | (mouseEvent.getY() & 0xFFFFFFFFL);
+        return mouseEvent; // Don't consume mouse move events
     }
 
-    private void updateHoverState(Point point)
+    /**
+     * Hit-tests the latest cursor position against the last published layout. Called once per
+     * frame, however many mouse events arrived since the previous one.
+     */
+    private void resolveHover()
     {
-        Prayer newHoveredPrayer = getPrayerAtPoint(point);
-        if (newHoveredPrayer != hoveredPrayer) {
-            hoveredPrayer = newHoveredPrayer;
-            // The overlay will repaint automatically, showing the hover effect
+        long cursor = this.cursor;
+        PanelLayout layout = this.layout;
+        if (cursor == NO_CURSOR || layout == null)
+        {
+            hoveredPrayer = null;
+            isQuickPrayerButtonHovered = false;
+            return;
         }
         
-        // Update quick prayer button hover state
-        boolean newButtonHoverState = isPointInQuickPrayerButton(point);
-        if (newButtonHoverState != isQuickPrayerButtonHovered) {
-            isQuickPrayerButtonHovered = newButtonHoverState;
-        }
-    }
-
-    private boolean isWithinOverlayBounds(Point point)
-    {
-        // Get the actual screen bounds of the overlay using our custom getBounds method
-        Rectangle panelBounds = getBounds();
-        return panelBounds != null && panelBounds.contains(point);
+        Point location = getPreferredLocation();
+        int x = (int) (cursor >> 32) - getOriginX(location);
+        int y = (int) cursor - getOriginY(location);
+        
+        // Both are false outside the panel
+        hoveredPrayer = layout.prayerAt(x, y);
+        isQuickPrayerButtonHovered = layout.isInQuickPrayerButton(x, y);
     }
 
-    private boolean isWithinInteractiveElement(Point point)
+    private boolean isWithinOverlayBounds(int canvasX, int canvasY)
     {
-        Point overlayPoint = getOverlayRelativePoint(point);
-        
-        // Check if point is within quick prayer button
-        if (quickPrayerButtonBounds != null && quickPrayerButtonBounds.contains(overlayPoint))
+        PanelLayout layout = this.layout;
+        if (layout == null)
         {
-            return true;
+            return false;
         }
         
-        // Check if point is within any prayer tile
-        for (Rectangle prayerBound : prayerBounds.values())
+        Point location = getPreferredLocation();
+        return layout.contains(canvasX - getOriginX(location), canvasY - getOriginY(location));
+    }
+
+    private boolean isWithinInteractiveElement(int canvasX, int canvasY)
+    {
+        PanelLayout layout = this.layout;
+        if (layout == null)
         {
-            if (prayerBound.contains(overlayPoint))
-            {
-                return true;
-            }
+            return false;
         }
         
-        return false;
+        Point location = getPreferredLocation();
+        int x = canvasX - getOriginX(location);
+        int y = canvasY - getOriginY(location);
+        return layout.isInQuickPrayerButton(x, y) || layout.prayerAt(x, y) != null;
     }
 
     private void handleOverlayClick(MouseEvent mouseEvent)
@@ -952,11 +786,12 @@ public class PrayerManagerOverlay extends OverlayPanel
             return; // Only handle left clicks
         }
 
+        long clickNanos = latencyTracer.onClick();
         Point clickPoint = mouseEvent.getPoint();
         // Check if quick prayer button was clicked
         if (isQuickPrayerButtonClicked(clickPoint))
         {
-            handleQuickPrayerButtonClick();
+            handleQuickPrayerButtonClick(clickNanos);
             return;
         }
 
@@ -964,31 +799,33 @@ public class PrayerManagerOverlay extends OverlayPanel
         Prayer clickedPrayer = getPrayerAtPoint(clickPoint);
         if (clickedPrayer != null)
         {
-            handlePrayerTileClick(clickedPrayer);
+            handlePrayerTileClick(clickedPrayer, clickNanos);
         }
     }
 
-    private void handleQuickPrayerButtonClick()
+    private void handleQuickPrayerButtonClick(long clickNanos)
     {
         try
         {
             // Provide immediate visual feedback
             isQuickPrayerButtonClicked = true;
-            buttonClickFeedbackTime = System.currentTimeMillis();
+            buttonClickFeedbackTime = clock.currentTimeMillis();
             
-            System.out.println("Quick Prayer button clicked!");
+            log.debug("Quick Prayer button clicked");
             
             // Execute client calls on the client thread
             clientThread.invoke(() -> {
+                int action = latencyTracer.onDispatch(clickNanos, Varbits.QUICK_PRAYER);
                 try {
                     boolean currentState = client.getVarbitValue(Varbits.QUICK_PRAYER) == 1;
-                    System.out.println("Current quick prayer state: " + currentState);
+                    log.debug("Current quick prayer state: {}", currentState);
                     
                     // Try multiple approaches to toggle quick prayer
                     String option = currentState ? "Deactivate" : "Activate";
                     String target = "Quick-prayers";
                     
-                    System.out.println("Attempting to toggle quick prayer: " + option);
+                    log.debug("Attempting to toggle quick prayer: {}", option);
+                    sessionRecorder.recordMenuAction(-1, Varbits.QUICK_PRAYER);
                     
                     // Try to toggle quick prayer using menuAction with correct parameters
                     try {
@@ -1002,9 +839,9 @@ public class PrayerManagerOverlay extends OverlayPanel
                             option, // option text
                             target // target text
                         );
-                        System.out.println("Used menuAction with corrected parameters");
+                        log.debug("Used menuAction with corrected parameters");
                     } catch (Exception e1) {
-                        System.out.println("MenuAction approach failed: " + e1.getMessage());
+                        log.debug("MenuAction approach failed: {}", e1.getMessage());
                         
                         // Alternative approach: Try clicking the prayer tab quick prayer button
                         try {
@@ -1017,13 +854,14 @@ public class PrayerManagerOverlay extends OverlayPanel
                                 "Quick-prayers", // option
                                 "" // target
                             );
-                            System.out.println("Tried prayer tab quick prayer button");
+                            log.debug("Tried prayer tab quick prayer button");
                         } catch (Exception e2) {
-                            System.out.println("Prayer tab approach also failed: " + e2.getMessage());
+                            log.debug("Prayer tab approach also failed: {}", e2.getMessage());
                         }
                     }
                     
-                    System.out.println("Toggled quick prayer: " + (currentState ? "OFF" : "ON"));
+                    latencyTracer.onMenuAction(action);
+                    log.debug("Toggled quick prayer: {}", currentState ? "OFF" : "ON");
                 } catch (Exception e) {
                     handleError("Failed to toggle quick prayer", e);
                 }
@@ -1038,28 +876,29 @@ public class PrayerManagerOverlay extends OverlayPanel
 
 
 
-    private void handlePrayerTileClick(Prayer prayer)
+    private void handlePrayerTileClick(Prayer prayer, long clickNanos)
     {
         try
         {
             // Provide immediate visual feedback
             clickedPrayer = prayer;
-            clickFeedbackTime = System.currentTimeMillis();
+            clickFeedbackTime = clock.currentTimeMillis();
             
-            System.out.println("Prayer tile clicked: " + prayer.name());
+            log.debug("Prayer tile clicked: {}", prayer);
             
             // Execute client calls on the client thread
             clientThread.invoke(() -> {
+                int action = latencyTracer.onDispatch(clickNanos, prayerCatalog.getQuickPrayerVarbit(prayer.ordinal()));
                 try {
                     // Get the current quick prayer selection state
                     boolean isCurrentlySelected = isQuickPrayerSelected(prayer);
-                    int childId = getPrayerChildId(prayer);
+                    int childId = prayerCatalog.getWidgetChildId(prayer.ordinal());
                     
-                    System.out.println("Prayer state - currently selected: " + isCurrentlySelected + 
-                                     ", child ID: " + childId);
+                    log.debug("Prayer state - currently selected: {}, child ID: {}", isCurrentlySelected, childId);
                     
                     // Toggle the quick prayer selection for this prayer
                     toggleQuickPrayerSelection(prayer);
+                    latencyTracer.onMenuAction(action);
                 } catch (Exception e) {
                     handleError("Failed to process prayer tile click", e);
                 }
@@ -1076,38 +915,7 @@ public class PrayerManagerOverlay extends OverlayPanel
     {
         try
         {
-            // Check if this prayer supports quick prayer functionality
-            int varbitId = getQuickPrayerVarbitId(prayer);
-            if (varbitId == -1)
-            {
-                System.out.println("Prayer " + prayer.name() + " does not support quick prayer selection");
-                return;
-            }
-
-            // Get the prayer widget child ID for the specific prayer
-            int prayerChildId = getPrayerChildId(prayer);
-            if (prayerChildId == -1)
-            {
-                System.err.println("Unknown prayer child ID for: " + prayer.name());
-                return;
-            }
-
-            // Use menu action to toggle quick prayer selection
-            // Use the standard prayer tab group ID (541 is correct for prayer tab)
-            int prayerTabGroupId = 541; // Prayer tab widget group ID
-            
-            client.menuAction(
-                prayerChildId, // p0 (child ID)
-                prayerTabGroupId, // p1 (parent widget group ID)
-                MenuAction.CC_OP, // action
-                (prayerTabGroupId << 16) | prayerChildId, // id (prayer widget ID)
-                -1, // itemId
-                "Toggle Quick-prayer", // option
-                prayer.name() // target
-            );
-            
-            System.out.println("Invoked menu action for: " + prayer.name() + " (childId: " + prayerChildId + ", varbitId: " + varbitId + ")");
-            
+            quickPrayerActions.toggleSelection(prayer);
         }
         catch (Exception e)
         {
@@ -1117,92 +925,17 @@ public class PrayerManagerOverlay extends OverlayPanel
 
 
 
-    private int getPrayerChildId(Prayer prayer)
-    {
-        // Map prayers to their child IDs within the prayer tab widget
-        // These correspond to the ordinal values of the Prayer enum
-        switch (prayer)
-        {
-            case THICK_SKIN: return 0;
-            case BURST_OF_STRENGTH: return 1;
-            case CLARITY_OF_THOUGHT: return 2;
-            case SHARP_EYE: return 3;
-            case MYSTIC_WILL: return 4;
-            case ROCK_SKIN: return 5;
-            case SUPERHUMAN_STRENGTH: return 6;
-            case IMPROVED_REFLEXES: return 7;
-            case RAPID_RESTORE: return 8;
-            case RAPID_HEAL: return 9;
-            case PROTECT_ITEM: return 10;
-            case HAWK_EYE: return 11;
-            case MYSTIC_LORE: return 12;
-            case STEEL_SKIN: return 13;
-            case ULTIMATE_STRENGTH: return 14;
-            case INCREDIBLE_REFLEXES: return 15;
-            case PROTECT_FROM_MAGIC: return 16;
-            case PROTECT_FROM_MISSILES: return 17;
-            case PROTECT_FROM_MELEE: return 18;
-            case EAGLE_EYE: return 19;
-            case MYSTIC_MIGHT: return 20;
-            case RETRIBUTION: return 21;
-            case REDEMPTION: return 22;
-            case SMITE: return 23;
-            case CHIVALRY: return 24;
-            case DEADEYE: return 25;
-            case MYSTIC_VIGOUR: return 26;
-            case PIETY: return 27;
-            case PRESERVE: return 28;
-            case RIGOUR: return 29;
-            case AUGURY: return 30;
-            case RP_REJUVENATION: return 31;
-            case RP_ANCIENT_STRENGTH: return 32;
-            case RP_ANCIENT_SIGHT: return 33;
-            case RP_ANCIENT_WILL: return 34;
-            case RP_PROTECT_ITEM: return 35;
-            case RP_RUINOUS_GRACE: return 36;
-            case RP_DAMPEN_MAGIC: return 37;
-            case RP_DAMPEN_RANGED: return 38;
-            case RP_DAMPEN_MELEE: return 39;
-            case RP_TRINITAS: return 40;
-            case RP_BERSERKER: return 41;
-            case RP_PURGE: return 42;
-            case RP_METABOLISE: return 43;
-            case RP_REBUKE: return 44;
-            case RP_VINDICATION: return 45;
-            case RP_DECIMATE: return 46;
-            case RP_ANNIHILATE: return 47;
-            case RP_VAPORISE: return 48;
-            case RP_FUMUS_VOW: return 49;
-            case RP_UMBRA_VOW: return 50;
-            case RP_CRUORS_VOW: return 51;
-            case RP_GLACIES_VOW: return 52;
-            case RP_WRATH: return 53;
-            case RP_INTENSIFY: return 54;
-            default: return -1;
-        }
-    }
-
-
-    
     // Position management methods
-    private void loadSavedPosition()
+    private void applyStoredPosition()
     {
-        int savedX = config.prayerGridPositionX();
-        int savedY = config.prayerGridPositionY();
-        
-        if (savedX != -1 && savedY != -1)
+        Point stored = positionStore.get(OverlayPositionStore.Slot.PRAYER_GRID);
+        if (stored != appliedPosition && !isDragging)
         {
-            setPreferredLocation(new Point(savedX, savedY));
-        }
-    }
-    
-    private void savePosition()
-    {
-        Point position = getPreferredLocation();
-        if (position != null)
-        {
-            configManager.setConfiguration("prayermanager", "prayerGridPositionX", position.x);
-            configManager.setConfiguration("prayermanager", "prayerGridPositionY", position.y);
+            appliedPosition = stored;
+            if (stored != null)
+            {
+                setPreferredLocation(stored);
+            }
         }
     }
     
@@ -1240,18 +973,30 @@ public class PrayerManagerOverlay extends OverlayPanel
         dragStartPoint = null;
         overlayStartPosition = null;
         
-        // Save the new position
-        savePosition();
+        // Persisted once the drag has settled
+        Point position = getPreferredLocation();
+        if (position != null)
+        {
+            positionStore.save(OverlayPositionStore.Slot.PRAYER_GRID, position);
+        }
     }
     
     // Helper methods for UI polish and error handling
     
     private void handleError(String message, Exception e)
     {
-        lastError = message;
-        lastErrorTime = System.currentTimeMillis();
+        synchronized (errorLock)
+        {
+            ShownError previous = lastError;
+            int sequence = previous == null ? 1
+                : previous.message.equals(message) ? previous.sequence : previous.sequence + 1;
+            lastError = new ShownError(message, clock.currentTimeMillis(), sequence);
+        }
         
-        PrayerManagerConfig.ErrorHandlingMode mode = config.errorHandlingMode();
+        RenderSettings settings = this.settings;
+        PrayerManagerConfig.ErrorHandlingMode mode = settings != null
+            ? settings.errorHandlingMode
+            : PrayerManagerConfig.ErrorHandlingMode.GRACEFUL;
         
         switch (mode)
         {
@@ -1261,7 +1006,7 @@ public class PrayerManagerOverlay extends OverlayPanel
             case GRACEFUL:
                 if (e instanceof RuntimeException)
                 {
-                    log.log(Level.WARNING, message + ": " + e.getMessage());
+                    log.warn("{}: {}", message, e.getMessage());
                 }
                 break;
             case SILENT:
@@ -1271,25 +1016,27 @@ public class PrayerManagerOverlay extends OverlayPanel
         }
     }
     
-    private boolean shouldShowError()
+    /**
+     * Returns the error to show, or null if there is no recent error or error handling is silent.
+     */
+    private ShownError getShownError(RenderSettings settings)
     {
-        if (lastError == null || config.errorHandlingMode() == PrayerManagerConfig.ErrorHandlingMode.SILENT)
+        ShownError error = lastError;
+        if (error == null || settings.errorHandlingMode == PrayerManagerConfig.ErrorHandlingMode.SILENT)
         {
-            return false;
+            return null;
         }
         
-        return (System.currentTimeMillis() - lastErrorTime) < ERROR_DISPLAY_DURATION;
+        return (clock.currentTimeMillis() - error.time) < ERROR_DISPLAY_DURATION ? error : null;
     }
     
-    private int renderErrorMessage(Graphics2D graphics, int yOffset)
+    private int renderErrorMessage(Graphics2D graphics, RenderSettings settings, ShownError error, int yOffset)
     {
-        if (lastError == null) return 0;
-        
-        int errorHeight = 15;
-        int errorWidth = getMaxWidth();
+        int errorHeight = ERROR_MESSAGE_HEIGHT;
+        int errorWidth = getMaxWidth(settings);
         
         // Draw error background
-        graphics.setColor(new Color(139, 0, 0, 100)); // Dark red background
+        graphics.setColor(settings.palette.errorBackground); // Dark red background
         graphics.fillRect(0, yOffset, errorWidth, errorHeight);
         
         // Draw error border
@@ -1299,7 +1046,7 @@ public class PrayerManagerOverlay extends OverlayPanel
         // Draw error text
         graphics.setColor(Color.WHITE);
         FontMetrics fm = graphics.getFontMetrics();
-        String errorText = "Error: " + lastError;
+        String errorText = "Error: " + error.message;
         
         // Truncate if too long
         if (fm.stringWidth(errorText) > errorWidth - 10)
@@ -1318,16 +1065,6 @@ public class PrayerManagerOverlay extends OverlayPanel
         return errorHeight;
     }
     
-    private boolean colorsEqual(Color c1, Color c2)
-    {
-        if (c1 == null && c2 == null) return true;
-        if (c1 == null || c2 == null) return false;
-        
-        return c1.getRed() == c2.getRed() &&
-               c1.getGreen() == c2.getGreen() &&
-               c1.getBlue() == c2.getBlue() &&
-               c1.getAlpha() == c2.getAlpha();
-    }
 
     // RuneLite overlay mouse event handlers - these are called by RuneLite
     public MouseEvent mouseClicked(MouseEvent mouseEvent)
@@ -1354,4 +1091,22 @@ public class PrayerManagerOverlay extends OverlayPanel
     {
         return handleMouseMove(mouseEvent); // Reuse move logic for drag
     }
-}
\ No newline at end of file
+
+    /**
+     * An error message with the time it was raised. The sequence is bumped whenever the message
+     * differs from the previous one, so the composed panel can be keyed on it.
+     */
+    private static final class ShownError
+    {
+        private final String message;
+        private final long time;
+        private final int sequence;
+
+        ShownError(String message, long time, int sequence)
+        {
+            this.message = message;
+            this.time = time;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.prayermanager;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import javax.inject.Singleton;
+import net.runelite.api.Prayer;
+
+/**
+ * Pre-rasterized prayer tiles. Every (prayer, visual state) combination is drawn once into a
+ * single sheet image and afterwards painted with one blit per tile. The sheet is rebuilt lazily
+ * whenever a new {@link RenderSettings} snapshot is passed in, i.e. after every config change.
+ */
+@Singleton
+public class PrayerTileAtlas
+{
+    private static final int TILE_WIDTH = PrayerManagerOverlay.PRAYER_TILE_WIDTH;
+    private static final int TILE_HEIGHT = PrayerManagerOverlay.PRAYER_TILE_HEIGHT;
+
+    // Background states, combined with the hover border flag into a sheet row
+    static final int BACKGROUND_UNSELECTED = 0;
+    static final int BACKGROUND_SELECTED = 1;
+    static final int BACKGROUND_HOVER = 2;
+    static final int BACKGROUND_CLICKED = 3;
+
+    // Rows 0-7 are full tiles, rows 8-9 are border + label only ("chrome") for tiles whose
+    // background is mid-transition and has to be filled separately
+    private static final int CHROME_ROW = 8;
+    private static final int ROW_COUNT = 10;
+
+    private static final Font PRAYER_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 10);
+
+    private final int prayerCount = Prayer.values().length;
+    private final boolean[] rasterized = new boolean[prayerCount * ROW_COUNT];
+    private BufferedImage sheet;
+    private RenderSettings sheetSettings;
+
+    /**
+     * Draws a complete tile (background, border, hover border and label) at the given position.
+     */
+    public void drawTile(Graphics2D graphics, RenderSettings settings, Prayer prayer, String label, int background, boolean hovered, int x, int y)
+    {
+        drawCell(graphics, settings, prayer, label, background * 2 + (hovered ? 1 : 0), x, y);
+    }
+
+    /**
+     * Draws only the border, hover border and label of a tile, leaving the background to the caller.
+     */
+    public void drawChrome(Graphics2D graphics, RenderSettings settings, Prayer prayer, String label, boolean hovered, int x, int y)
+    {
+        drawCell(graphics, settings, prayer, label, CHROME_ROW + (hovered ? 1 : 0), x, y);
+    }
+
+    private void drawCell(Graphics2D graphics, RenderSettings settings, Prayer prayer, String label, int row, int x, int y)
+    {
+        if (settings != sheetSettings || sheet == null)
+        {
+            resetSheet(graphics);
+            sheetSettings = settings;
+        }
+
+        int column = prayer.ordinal();
+        int cell = row * prayerCount + column;
+        if (!rasterized[cell])
+        {
+            rasterizeCell(graphics, settings, label, column, row);
+            rasterized[cell] = true;
+        }
+
+        int sx = column * TILE_WIDTH;
+        int sy = row * TILE_HEIGHT;
+        graphics.drawImage(sheet,
+            x, y, x + TILE_WIDTH, y + TILE_HEIGHT,
+            sx, sy, sx + TILE_WIDTH, sy + TILE_HEIGHT,
+            null);
+    }
+
+    private void resetSheet(Graphics2D graphics)
+    {
+        Arrays.fill(rasterized, false);
+
+        int width = prayerCount * TILE_WIDTH;
+        int height = ROW_COUNT * TILE_HEIGHT;
+        if (sheet != null)
+        {
+            // Reuse the existing raster, only wipe it
+            Graphics2D clear = sheet.createGraphics();
+            clear.setComposite(AlphaComposite.Clear);
+            clear.fillRect(0, 0, width, height);
+            clear.dispose();
+            return;
+        }
+
+        GraphicsConfiguration gc = graphics.getDeviceConfiguration();
+        sheet = gc != null
+            ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+            : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private void rasterizeCell(Graphics2D target, RenderSettings settings, String label, int column, int row)
+    {
+        int x = column * TILE_WIDTH;
+        int y = row * TILE_HEIGHT;
+        boolean hovered = (row & 1) == 1;
+
+        Graphics2D g = sheet.createGraphics();
+        try
+        {
+            // Match the target's text antialiasing so cached tiles look like direct drawing
+            g.setRenderingHints(target.getRenderingHints());
+            g.setClip(x, y, TILE_WIDTH, TILE_HEIGHT);
+
+            if (row < CHROME_ROW)
+            {
+                g.setColor(getBackgroundColor(settings, row / 2));
+                g.fillRect(x, y, TILE_WIDTH, TILE_HEIGHT);
+            }
+
+            // Tile border
+            Color borderColor = settings.borderColor;
+            g.setColor(borderColor);
+            g.drawRect(x, y, TILE_WIDTH - 1, TILE_HEIGHT - 1);
+
+            // Brighter inner border for hover
+            if (hovered)
+            {
+                g.setColor(settings.palette.tileHoverBorder);
+                g.drawRect(x + 1, y + 1, TILE_WIDTH - 3, TILE_HEIGHT - 3);
+            }
+
+            // Centered label with shadow
+            g.setFont(PRAYER_FONT);
+            FontMetrics fm = g.getFontMetrics();
+            int textX = x + (TILE_WIDTH - fm.stringWidth(label)) / 2;
+            int textY = y + (TILE_HEIGHT + fm.getAscent()) / 2 - 1;
+
+            g.setColor(Color.BLACK);
+            g.drawString(label, textX + 1, textY + 1);
+            g.setColor(settings.textColor);
+            g.drawString(label, textX, textY);
+        }
+        finally
+        {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Returns the configured background color for a background state.
+     */
+    static Color getBackgroundColor(RenderSettings settings, int background)
+    {
+        return settings.palette.getTileBackground(background);
+    }
+}
@@ -1,40 +1,50 @@
 package com.prayermanager;
 
 import java.awt.*;
-import java.util.logging.Logger;
 import java.util.logging.Level;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import net.runelite.api.Client;
-import net.runelite.api.GameState;
-import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPosition;
 import net.runelite.client.ui.overlay.OverlayPriority;
-import net.runelite.client.config.ConfigManager;
 
 @Singleton
 public class PrayerTimingOverlay extends Overlay
 {
-    private static final Logger log = Logger.getLogger(PrayerTimingOverlay.class.getName());
+    private static final AsyncLog log = AsyncLog.getLogger(PrayerTimingOverlay.class);
     
     private static final int BAR_WIDTH = 200;
     private static final int BAR_HEIGHT = 20;
+    private static final int OVERLAY_HEIGHT = BAR_HEIGHT + 30;
+    private static final int JITTER_OVERLAY_HEIGHT = OVERLAY_HEIGHT + TickJitterSparkline.HEIGHT;
 
     @Inject
-    private Client client;
+    private GameStateTracker gameStateTracker;
 
     @Inject
-    private PrayerManagerConfig config;
-    
+    private OverlayPositionStore positionStore;
+
+    @Inject
+    private PluginClock clock;
+
+    @Inject
+    private RenderProfiler profiler;
+
     @Inject
-    private ConfigManager configManager;
+    private TextLabelCache textCache;
 
-    private long lastTickTime = 0;
+    private volatile RenderSettings settings;
+    private final TickPhaseEstimator tickPhase = new TickPhaseEstimator();
+    private final TickJitterHistory jitterHistory = new TickJitterHistory();
+    private final TickJitterSparkline jitterSparkline = new TickJitterSparkline(BAR_WIDTH);
+    private TextLabelCache.Label captionLabel;
+    private final ComposeBuffer composeBuffer = new ComposeBuffer();
     private boolean isDragging = false;
     private Point dragStartPoint = null;
     private Point overlayStartPosition = null;
+    // Last stored position handed to setPreferredLocation, compared by identity
+    private Point appliedPosition;
 
     public PrayerTimingOverlay()
     {
@@ -49,62 +59,66 @@ public class PrayerTimingOverlay extends Overlay
     @Override
     public Dimension render(Graphics2D graphics)
     {
+        RenderSettings settings = this.settings;
         try
         {
-            if (client.getGameState() != GameState.LOGGED_IN || !config.showTimingBar())
+            GameStateSnapshot state = gameStateTracker.getSnapshot();
+            if (settings == null || !state.loggedIn || !settings.showTimingBar)
             {
                 return null;
             }
 
-            // Load saved position if not already loaded - independent from prayer grid overlay
-            loadSavedPosition();
-            
-            // Apply overlay opacity setting
-            float opacity = config.overlayOpacity() / 100.0f;
-            if (isDragging)
-            {
-                opacity *= 0.7f; // Additional transparency during drag
-            }
-            graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity));
-            
-            // Apply visual feedback during dragging
-            if (isDragging)
+            // Stored position, independent from prayer grid overlay
+            applyStoredPosition();
+
+            // If no saved position, try to position near the prayer orb as default
+            if (getPreferredLocation() == null && state.hasPrayerOrb)
             {
-                // Draw a border around the timing overlay during drag to show it's moving independently
-                graphics.setColor(new Color(0, 255, 255, 150)); // Cyan border to distinguish from prayer grid
-                graphics.setStroke(new BasicStroke(2.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 0, new float[]{3}, 0));
-                graphics.drawRect(0, 0, BAR_WIDTH - 1, BAR_HEIGHT + 29);
+                // Position the timing bar near the prayer orb as default
+                setPreferredLocation(new Point(state.prayerOrbX - BAR_WIDTH / 2, state.prayerOrbY + 30));
             }
 
-            // If no saved position, try to position near the prayer orb as default
-            if (getPreferredLocation() == null)
+            double tickProgress = tickPhase.getProgress(clock.nanoTime());
+
+            int height = getOverlayHeight(settings);
+            long start = profiler.begin();
+            try
             {
+                Graphics2D composeGraphics = composeBuffer.begin(graphics, BAR_WIDTH, height);
                 try
                 {
-                    net.runelite.api.widgets.Widget prayerOrb = client.getWidget(WidgetInfo.MINIMAP_QUICK_PRAYER_ORB);
-                    if (prayerOrb != null)
+                    // Apply visual feedback during dragging
+                    if (isDragging)
+                    {
+                        // Draw a border around the timing overlay during drag to show it's moving independently
+                        composeGraphics.setColor(settings.palette.timingDragBorder); // Cyan border to distinguish from prayer grid
+                        composeGraphics.setStroke(settings.palette.timingDragStroke);
+                        composeGraphics.drawRect(0, 0, BAR_WIDTH - 1, height - 1);
+                    }
+
+                    renderTimingBar(composeGraphics, settings, tickProgress);
+                    if (settings.showTickJitter)
                     {
-                        // Position the timing bar near the prayer orb as default
-                        int orbX = prayerOrb.getCanvasLocation().getX();
-                        int orbY = prayerOrb.getCanvasLocation().getY();
-                        
-                        setPreferredLocation(new Point(orbX - BAR_WIDTH / 2, orbY + 30));
+                        // Cached image, only redrawn after a new tick
+                        jitterSparkline.draw(composeGraphics, settings, jitterHistory, 0, OVERLAY_HEIGHT);
                     }
                 }
-                catch (Exception e)
+                finally
                 {
-                    handleError("Failed to position timing overlay near prayer orb", e);
+                    composeGraphics.dispose();
                 }
-            }
 
-            long currentTime = System.currentTimeMillis();
-            long timeSinceLastTick = currentTime - lastTickTime;
-
-            double tickProgress = (timeSinceLastTick % 600) / 600.0;
-
-            renderTimingBar(graphics, tickProgress);
+                // Composed opaque, overlay opacity and the extra drag transparency apply once here
+                composeBuffer.blit(graphics, BAR_WIDTH, height,
+                    isDragging ? settings.dragOpacityComposite : settings.opacityComposite);
+            }
+            finally
+            {
+                // Closed even when the frame throws
+                profiler.end(RenderProfiler.Section.TIMING_BAR, start);
+            }
 
-            return new Dimension(BAR_WIDTH, BAR_HEIGHT + 30);
+            return new Dimension(BAR_WIDTH, height);
         }
         catch (Exception e)
         {
@@ -113,30 +127,28 @@ public class PrayerTimingOverlay extends Overlay
         }
     }
 
-    private void renderTimingBar(Graphics2D graphics, double progress)
+    private void renderTimingBar(Graphics2D graphics, RenderSettings settings, double progress)
     {
         try
         {
-            // Use configured colors
-            Color backgroundColor = new Color(0, 0, 0, 100);
-            Color tickColor = new Color(255, 255, 0, 150);
+            ThemePalette palette = settings.palette;
             
             // Draw background
-            graphics.setColor(backgroundColor);
+            graphics.setColor(palette.timingBarBackground);
             graphics.fillRect(0, 0, BAR_WIDTH, BAR_HEIGHT);
 
             // Draw tick progress
             int progressWidth = (int) (BAR_WIDTH * progress);
-            graphics.setColor(tickColor);
+            graphics.setColor(palette.timingBarProgress);
             graphics.fillRect(0, 0, progressWidth, BAR_HEIGHT);
 
             // Draw border using configured border color
-            graphics.setColor(config.borderColor());
+            graphics.setColor(settings.borderColor);
             graphics.drawRect(0, 0, BAR_WIDTH - 1, BAR_HEIGHT - 1);
 
-            // Add text using configured text color
-            graphics.setColor(config.textColor());
-            graphics.drawString("Tick Progress", 5, BAR_HEIGHT + 15);
+            // Add caption using configured text color
+            captionLabel = textCache.get(captionLabel, graphics, "Tick Progress", settings.textColor, false);
+            captionLabel.draw(graphics, 5, BAR_HEIGHT + 15);
         }
         catch (Exception e)
         {
@@ -146,7 +158,31 @@ public class PrayerTimingOverlay extends Overlay
 
     public void onGameTick()
     {
-        lastTickTime = System.currentTimeMillis();
+        long now = clock.nanoTime();
+        tickPhase.onTick(now);
+        jitterHistory.onTick(now);
+    }
+    
+    /**
+     * Forgets the tick timing history, so the gap of a logout or world hop is neither taken as
+     * a tick interval nor kept in the jitter history.
+     */
+    public void resetTickTiming()
+    {
+        tickPhase.reset();
+        jitterHistory.reset();
+    }
+    
+    public void setRenderSettings(RenderSettings settings)
+    {
+        this.settings = settings;
+        // The size only changes with the settings, no need to report it every frame
+        positionStore.setSize(OverlayPositionStore.Slot.TIMING_BAR, BAR_WIDTH, getOverlayHeight(settings));
+    }
+    
+    private static int getOverlayHeight(RenderSettings settings)
+    {
+        return settings != null && settings.showTickJitter ? JITTER_OVERLAY_HEIGHT : OVERLAY_HEIGHT;
     }
     
     @Override
@@ -158,28 +194,20 @@ public class PrayerTimingOverlay extends Overlay
             location = new Point(0, 0);
         }
         
-        return new Rectangle(location.x, location.y, BAR_WIDTH, BAR_HEIGHT + 30);
+        return new Rectangle(location.x, location.y, BAR_WIDTH, getOverlayHeight(settings));
     }
     
     // Position management methods - independent from prayer grid overlay
-    private void loadSavedPosition()
+    private void applyStoredPosition()
     {
-        int savedX = config.timingOverlayPositionX();
-        int savedY = config.timingOverlayPositionY();
-        
-        if (savedX != -1 && savedY != -1)
+        Point stored = positionStore.get(OverlayPositionStore.Slot.TIMING_BAR);
+        if (stored != appliedPosition && !isDragging)
         {
-            setPreferredLocation(new Point(savedX, savedY));
-        }
-    }
-    
-    private void savePosition()
-    {
-        Point position = getPreferredLocation();
-        if (position != null)
-        {
-            configManager.setConfiguration("prayermanager", "timingOverlayPositionX", position.x);
-            configManager.setConfiguration("prayermanager", "timingOverlayPositionY", position.y);
+            appliedPosition = stored;
+            if (stored != null)
+            {
+                setPreferredLocation(stored);
+            }
         }
     }
     
@@ -189,7 +217,7 @@ public class PrayerTimingOverlay extends Overlay
         Point location = getPreferredLocation();
         if (location == null) return false;
         
-        Rectangle bounds = new Rectangle(location.x, location.y, BAR_WIDTH, BAR_HEIGHT + 30);
+        Rectangle bounds = new Rectangle(location.x, location.y, BAR_WIDTH, getOverlayHeight(settings));
         return bounds.contains(point);
     }
     
@@ -263,8 +291,12 @@ public class PrayerTimingOverlay extends Overlay
         dragStartPoint = null;
         overlayStartPosition = null;
         
-        // Save the new position
-        savePosition();
+        // Persisted once the drag has settled
+        Point position = getPreferredLocation();
+        if (position != null)
+        {
+            positionStore.save(OverlayPositionStore.Slot.TIMING_BAR, position);
+        }
     }
     
     // Utility methods for independence verification
@@ -275,13 +307,16 @@ public class PrayerTimingOverlay extends Overlay
     
     public boolean hasIndependentPosition()
     {
-        return config.timingOverlayPositionX() != -1 && config.timingOverlayPositionY() != -1;
+        return positionStore.get(OverlayPositionStore.Slot.TIMING_BAR) != null;
     }
     
     // Error handling method
     private void handleError(String message, Exception e)
     {
-        PrayerManagerConfig.ErrorHandlingMode mode = config.errorHandlingMode();
+        RenderSettings settings = this.settings;
+        PrayerManagerConfig.ErrorHandlingMode mode = settings != null
+            ? settings.errorHandlingMode
+            : PrayerManagerConfig.ErrorHandlingMode.GRACEFUL;
         
         switch (mode)
         {
@@ -291,7 +326,7 @@ public class PrayerTimingOverlay extends Overlay
             case GRACEFUL:
                 if (e instanceof RuntimeException)
                 {
-                    log.log(Level.WARNING, message + ": " + e.getMessage());
+                    log.warn("{}: {}", message, e.getMessage());
                 }
                 break;
             case SILENT:
@@ -0,0 +1,75 @@
+package com.prayermanager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.MenuAction;
+import net.runelite.api.Prayer;
+
+/**
+ * Menu actions that change the quick prayer selection. Shared by tile clicks and presets so both
+ * toggle a prayer the same way. Must be called on the client thread.
+ */
+@Singleton
+public class QuickPrayerActions
+{
+    private static final AsyncLog log = AsyncLog.getLogger(QuickPrayerActions.class);
+
+    // Prayer tab widget group
+    private static final int PRAYER_TAB_GROUP_ID = 541;
+
+    @Inject
+    private Client client;
+
+    @Inject
+    private PrayerCatalog prayerCatalog;
+
+    @Inject
+    private SessionRecorder sessionRecorder;
+
+    /**
+     * Whether the prayer has both a selection varbit and a known widget, i.e. can be toggled.
+     */
+    public boolean canToggle(int ordinal)
+    {
+        return prayerCatalog.getQuickPrayerVarbit(ordinal) != -1 && prayerCatalog.getWidgetChildId(ordinal) != -1;
+    }
+
+    /**
+     * Flips the prayer's quick prayer selection through the prayer tab.
+     *
+     * @return false if the prayer cannot be a quick prayer or its widget is unknown
+     */
+    public boolean toggleSelection(Prayer prayer)
+    {
+        // Check if this prayer supports quick prayer functionality
+        int varbitId = prayerCatalog.getQuickPrayerVarbit(prayer.ordinal());
+        if (varbitId == -1)
+        {
+            log.debug("Prayer {} does not support quick prayer selection", prayer);
+            return false;
+        }
+
+        // Get the prayer widget child ID for the specific prayer
+        int prayerChildId = prayerCatalog.getWidgetChildId(prayer.ordinal());
+        if (prayerChildId == -1)
+        {
+            log.warn("Unknown prayer child ID for: {}", prayer);
+            return false;
+        }
+
+        sessionRecorder.recordMenuAction(prayer.ordinal(), varbitId);
+        client.menuAction(
+            prayerChildId, // p0 (child ID)
+            PRAYER_TAB_GROUP_ID, // p1 (parent widget group ID)
+            MenuAction.CC_OP, // action
+            (PRAYER_TAB_GROUP_ID << 16) | prayerChildId, // id (prayer widget ID)
+            -1, // itemId
+            "Toggle Quick-prayer", // option
+            prayer.name() // target
+        );
+
+        log.debug("Invoked menu action for: {} (childId: {}, varbitId: {})", prayer, prayerChildId, varbitId);
+        return true;
+    }
+}
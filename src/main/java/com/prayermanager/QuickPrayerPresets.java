@@ -0,0 +1,306 @@
+package com.prayermanager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Prayer;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.config.Keybind;
+import net.runelite.client.input.KeyManager;
+import net.runelite.client.util.HotkeyListener;
+
+/**
+ * Named quick prayer setups from the config, each with its own hotkey. Applying a preset diffs its
+ * selection bits against {@link QuickPrayerState} and issues every needed toggle from a single
+ * client thread task, so the whole loadout changes within one tick. The toggles are then
+ * confirmed one by one as their selection varbits arrive.
+ */
+@Singleton
+public class QuickPrayerPresets
+{
+    private static final AsyncLog log = AsyncLog.getLogger(QuickPrayerPresets.class);
+
+    static final int SLOT_COUNT = 4;
+
+    // Ticks to wait for the selection varbits before reporting a preset as unconfirmed
+    static final int CONFIRM_TIMEOUT_TICKS = 3;
+
+    private static final Prayer[] PRAYERS = Prayer.values();
+
+    /**
+     * One configured preset, immutable.
+     */
+    static final class Preset
+    {
+        private final String name;
+        private final long selectedBits;
+        private final Keybind hotkey;
+
+        Preset(String name, long selectedBits, Keybind hotkey)
+        {
+            this.name = name;
+            this.selectedBits = selectedBits;
+            this.hotkey = hotkey;
+        }
+
+        String getName()
+        {
+            return name;
+        }
+
+        long getSelectedBits()
+        {
+            return selectedBits;
+        }
+
+        Keybind getHotkey()
+        {
+            return hotkey;
+        }
+    }
+
+    @Inject
+    private Client client;
+
+    @Inject
+    private ClientThread clientThread;
+
+    @Inject
+    private KeyManager keyManager;
+
+    @Inject
+    private PrayerCatalog prayerCatalog;
+
+    @Inject
+    private QuickPrayerState quickPrayerState;
+
+    @Inject
+    private QuickPrayerActions quickPrayerActions;
+
+    @Inject
+    private ActionLatencyTracer latencyTracer;
+
+    // Replaced as a whole on config changes, null entries are unused slots
+    private volatile Preset[] presets = new Preset[SLOT_COUNT];
+
+    private final HotkeyListener[] hotkeyListeners = new HotkeyListener[SLOT_COUNT];
+
+    // Preset whose toggles are still waiting for their varbits, client thread only
+    private Preset confirming;
+    private long unconfirmedBits;
+    private int appliedTick;
+
+    public QuickPrayerPresets()
+    {
+        for (int slot = 0; slot < SLOT_COUNT; slot++)
+        {
+            final int presetSlot = slot;
+            hotkeyListeners[slot] = new HotkeyListener(() -> getHotkey(presetSlot))
+            {
+                @Override
+                public void hotkeyPressed()
+                {
+                    apply(presetSlot);
+                }
+            };
+        }
+    }
+
+    public void register()
+    {
+        for (HotkeyListener listener : hotkeyListeners)
+        {
+            keyManager.registerKeyListener(listener);
+        }
+    }
+
+    public void unregister()
+    {
+        for (HotkeyListener listener : hotkeyListeners)
+        {
+            keyManager.unregisterKeyListener(listener);
+        }
+    }
+
+    /**
+     * Re-reads every preset slot from the config.
+     */
+    public void load(PrayerManagerConfig config)
+    {
+        Preset[] loaded = new Preset[SLOT_COUNT];
+        for (int slot = 0; slot < SLOT_COUNT; slot++)
+        {
+            loaded[slot] = parsePreset(slot, config);
+        }
+        presets = loaded;
+    }
+
+    Preset getPreset(int slot)
+    {
+        return presets[slot];
+    }
+
+    /**
+     * Toggles of the last applied preset still waiting for their varbit, client thread only.
+     */
+    long getUnconfirmedBits()
+    {
+        return unconfirmedBits;
+    }
+
+    private Keybind getHotkey(int slot)
+    {
+        Preset preset = presets[slot];
+        return preset != null ? preset.hotkey : Keybind.NOT_SET;
+    }
+
+    private Preset parsePreset(int slot, PrayerManagerConfig config)
+    {
+        String name;
+        String prayers;
+        Keybind hotkey;
+        switch (slot)
+        {
+            case 0:
+                name = config.preset1Name();
+                prayers = config.preset1Prayers();
+                hotkey = config.preset1Hotkey();
+                break;
+            case 1:
+                name = config.preset2Name();
+                prayers = config.preset2Prayers();
+                hotkey = config.preset2Hotkey();
+                break;
+            case 2:
+                name = config.preset3Name();
+                prayers = config.preset3Prayers();
+                hotkey = config.preset3Hotkey();
+                break;
+            default:
+                name = config.preset4Name();
+                prayers = config.preset4Prayers();
+                hotkey = config.preset4Hotkey();
+                break;
+        }
+
+        name = name != null ? name.trim() : "";
+        prayers = prayers != null ? prayers.trim() : "";
+        if (name.isEmpty() && prayers.isEmpty())
+        {
+            return null;
+        }
+
+        long bits = 0;
+        for (String prayerName : prayers.split(","))
+        {
+            if (prayerName.trim().isEmpty())
+            {
+                continue;
+            }
+
+            int ordinal = prayerCatalog.findOrdinal(prayerName.trim());
+            if (ordinal == -1)
+            {
+                log.warn("Unknown prayer \"{}\" in quick prayer preset {}", prayerName.trim(), slot + 1);
+            }
+            else if (!quickPrayerActions.canToggle(ordinal))
+            {
+                log.warn("{} in quick prayer preset {} cannot be a quick prayer", PRAYERS[ordinal], slot + 1);
+            }
+            else
+            {
+                bits |= 1L << ordinal;
+            }
+        }
+
+        return new Preset(name.isEmpty() ? "Preset " + (slot + 1) : name, bits, hotkey != null ? hotkey : Keybind.NOT_SET);
+    }
+
+    /**
+     * Applies the preset in the given slot. Safe to call from any thread, the toggles run in one
+     * client thread task.
+     */
+    public void apply(int slot)
+    {
+        Preset preset = presets[slot];
+        if (preset == null)
+        {
+            return;
+        }
+
+        long clickNanos = latencyTracer.onClick();
+        clientThread.invoke(() -> applyOnClientThread(preset, clickNanos));
+    }
+
+    private void applyOnClientThread(Preset preset, long clickNanos)
+    {
+        if (client.getGameState() != GameState.LOGGED_IN)
+        {
+            return;
+        }
+
+        // Only the prayers whose selection differs from the preset need a toggle
+        long toggles = quickPrayerState.getSelectedBits() ^ preset.selectedBits;
+        long issued = 0;
+        while (toggles != 0)
+        {
+            int ordinal = Long.numberOfTrailingZeros(toggles);
+            toggles &= toggles - 1;
+            if (!quickPrayerActions.canToggle(ordinal))
+            {
+                continue;
+            }
+
+            int action = latencyTracer.onDispatch(clickNanos, prayerCatalog.getQuickPrayerVarbit(ordinal));
+            try
+            {
+                if (quickPrayerActions.toggleSelection(PRAYERS[ordinal]))
+                {
+                    issued |= 1L << ordinal;
+                    latencyTracer.onMenuAction(action);
+                }
+            }
+            catch (Exception e)
+            {
+                log.warn("Failed to toggle {} for preset {}: {}", PRAYERS[ordinal], preset.name, e.getMessage());
+            }
+        }
+
+        confirming = preset;
+        unconfirmedBits = issued;
+        appliedTick = client.getTickCount();
+        log.debug("Applied quick prayer preset {} with {} toggles", preset.name, Long.bitCount(issued));
+    }
+
+    /**
+     * Confirms the toggles whose selection now matches the preset. Call on the client thread
+     * after {@link QuickPrayerState} applied a varbit change.
+     */
+    public void onSelectionChanged()
+    {
+        if (unconfirmedBits == 0)
+        {
+            return;
+        }
+
+        // A bit stays unconfirmed while the selection still differs from the preset there
+        unconfirmedBits &= quickPrayerState.getSelectedBits() ^ confirming.selectedBits;
+        if (unconfirmedBits == 0)
+        {
+            log.debug("Quick prayer preset {} confirmed after {} ticks", confirming.name, client.getTickCount() - appliedTick);
+        }
+    }
+
+    /**
+     * Gives up on toggles that were not confirmed within {@link #CONFIRM_TIMEOUT_TICKS}.
+     */
+    public void onGameTick()
+    {
+        if (unconfirmedBits != 0 && client.getTickCount() - appliedTick > CONFIRM_TIMEOUT_TICKS)
+        {
+            log.warn("Quick prayer preset {} was not confirmed for {} prayers", confirming.name, Long.bitCount(unconfirmedBits));
+            unconfirmedBits = 0;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.prayermanager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.Prayer;
+
+/**
+ * Quick prayer selection held as a single bitmask indexed by {@link Prayer#ordinal()}.
+ * Updated incrementally from {@code VarbitChanged} on the client thread using the catalog's
+ * varbit to ordinal table, read lock-free by the renderers. The version counter increases on
+ * every change so readers can cheaply detect that the selection moved since they last looked.
+ */
+@Singleton
+public class QuickPrayerState
+{
+    private static final Prayer[] PRAYERS = Prayer.values();
+
+    static
+    {
+        if (PRAYERS.length > Long.SIZE)
+        {
+            throw new IllegalStateException("Too many prayers for a long bitmask: " + PRAYERS.length);
+        }
+    }
+
+    @Inject
+    private Client client;
+
+    @Inject
+    private PrayerCatalog prayerCatalog;
+
+    private volatile long selectedBits;
+    private volatile int version;
+
+    /**
+     * Returns the current selection, bit {@code n} set when the prayer with ordinal {@code n} is selected.
+     */
+    public long getSelectedBits()
+    {
+        return selectedBits;
+    }
+
+    public int getVersion()
+    {
+        return version;
+    }
+
+    public boolean isSelected(Prayer prayer)
+    {
+        return (selectedBits & (1L << prayer.ordinal())) != 0;
+    }
+
+    public boolean isQuickPrayerVarbit(int varbitId)
+    {
+        return prayerCatalog.getOrdinalForQuickPrayerVarbit(varbitId) != -1;
+    }
+
+    /**
+     * Applies a single varbit change. Must be called on the client thread.
+     *
+     * @return true if the varbit was a quick prayer selection and the state was updated
+     */
+    public boolean onVarbitChanged(int varbitId, int value)
+    {
+        int ordinal = prayerCatalog.getOrdinalForQuickPrayerVarbit(varbitId);
+        if (ordinal == -1)
+        {
+            return false;
+        }
+
+        long mask = 1L << ordinal;
+        long bits = value == 1 ? selectedBits | mask : selectedBits & ~mask;
+        if (bits != selectedBits)
+        {
+            selectedBits = bits;
+            version++;
+        }
+        return true;
+    }
+
+    /**
+     * Re-reads every quick prayer varbit from the client, e.g. after login.
+     * Must be called on the client thread.
+     */
+    public void refresh()
+    {
+        long bits = 0;
+        for (int ordinal = 0; ordinal < PRAYERS.length; ordinal++)
+        {
+            int varbitId = prayerCatalog.getQuickPrayerVarbit(ordinal);
+            if (varbitId != -1 && client.getVarbitValue(varbitId) == 1)
+            {
+                bits |= 1L << ordinal;
+            }
+        }
+
+        if (bits != selectedBits)
+        {
+            selectedBits = bits;
+            version++;
+        }
+    }
+
+    /**
+     * Clears the selection. Must be called on the client thread.
+     */
+    public void reset()
+    {
+        selectedBits = 0;
+        version++;
+    }
+}
@@ -0,0 +1,118 @@
+package com.prayermanager;
+
+import javax.inject.Singleton;
+
+/**
+ * Per-component render timings, switched on and off from the config at runtime. Renderers
+ * bracket a component with {@link #begin()} and {@link #end(Section, long)}; while profiling is
+ * off {@code begin} returns 0 without reading the clock and {@code end} returns immediately.
+ */
+@Singleton
+public class RenderProfiler
+{
+    private static final AsyncLog log = AsyncLog.getLogger(RenderProfiler.class);
+
+    enum Section
+    {
+        PANEL("Panel frame"),
+        POINTS_BAR("Points bar"),
+        QUICK_PRAYER_BUTTON("Quick prayer"),
+        PRAYER_GRID("Prayer grid"),
+        ERROR_MESSAGE("Error message"),
+        TIMING_BAR("Timing bar");
+
+        private final String label;
+
+        Section(String label)
+        {
+            this.label = label;
+        }
+
+        String getLabel()
+        {
+            return label;
+        }
+    }
+
+    private static final Section[] SECTIONS = Section.values();
+
+    private final FrameTimeHistogram[] histograms = new FrameTimeHistogram[SECTIONS.length];
+
+    private volatile boolean enabled;
+
+    public RenderProfiler()
+    {
+        for (int i = 0; i < histograms.length; i++)
+        {
+            histograms[i] = new FrameTimeHistogram();
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. Turning it on starts from empty histograms.
+     */
+    public void setEnabled(boolean enabled)
+    {
+        if (enabled && !this.enabled)
+        {
+            reset();
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Start timestamp for a component, 0 when profiling is off.
+     */
+    long begin()
+    {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    void end(Section section, long start)
+    {
+        if (start != 0L)
+        {
+            histograms[section.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    FrameTimeHistogram getHistogram(Section section)
+    {
+        return histograms[section.ordinal()];
+    }
+
+    void reset()
+    {
+        for (FrameTimeHistogram histogram : histograms)
+        {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Writes p50/p99/max of every component that recorded samples to the log.
+     */
+    void logSummary()
+    {
+        for (Section section : SECTIONS)
+        {
+            FrameTimeHistogram histogram = getHistogram(section);
+            if (histogram.getCount() == 0)
+            {
+                continue;
+            }
+
+            log.info(String.format("Render profile %-13s n=%d p50=%dus p99=%dus max=%dus",
+                section.getLabel(),
+                histogram.getCount(),
+                histogram.getPercentile(50) / 1_000,
+                histogram.getPercentile(99) / 1_000,
+                histogram.getMax() / 1_000));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.prayermanager;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayLayer;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.OverlayPriority;
+
+/**
+ * Debug readout of the {@link RenderProfiler} histograms. Draws nothing while profiling is off.
+ */
+@Singleton
+public class RenderProfilerOverlay extends Overlay
+{
+    private static final RenderProfiler.Section[] SECTIONS = RenderProfiler.Section.values();
+
+    @Inject
+    private RenderProfiler profiler;
+
+    public RenderProfilerOverlay()
+    {
+        setPosition(OverlayPosition.TOP_LEFT);
+        setPriority(OverlayPriority.LOW);
+        setLayer(OverlayLayer.ABOVE_WIDGETS);
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics)
+    {
+        if (!profiler.isEnabled())
+        {
+            return null;
+        }
+
+        Dimension size = PercentileTable.drawFrame(graphics, "Render (us)", SECTIONS.length);
+        for (int i = 0; i < SECTIONS.length; i++)
+        {
+            RenderProfiler.Section section = SECTIONS[i];
+            PercentileTable.drawHistogram(graphics, i + 1, section.getLabel(), profiler.getHistogram(section),
+                PercentileTable.MICROS);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,95 @@
+package com.prayermanager;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+
+/**
+ * Immutable snapshot of every config value the overlays read while rendering. Built once per
+ * {@code ConfigChanged} by {@link PrayerManager} and published to both overlays, so render paths
+ * only touch plain final fields instead of going through the config proxy.
+ */
+final class RenderSettings
+{
+    private static final float DRAG_OPACITY_FACTOR = 0.7f;
+
+    // Component visibility
+    final boolean showPrayerGrid;
+    final boolean showTimingBar;
+    final boolean showTickJitter;
+    final boolean showPrayerPoints;
+    final boolean showQuickPrayerButton;
+
+    // Grid filters, an empty custom list shows every prayer
+    final boolean gridActiveBookOnly;
+    final boolean gridQuickPrayersOnly;
+    final boolean gridUnlockedOnly;
+    final String gridCustomPrayers;
+
+    // Sizes
+    final int gridColumns;
+    final int quickPrayerButtonSize;
+
+    // Visual feedback flags
+    final boolean enableHoverEffects;
+    final boolean enableClickFeedback;
+    final boolean enableSmoothTransitions;
+
+    // Opacity, pre-built for normal and dragging state
+    final float opacity;
+    final AlphaComposite opacityComposite;
+    final AlphaComposite dragOpacityComposite;
+
+    // Colors
+    final Color quickPrayerButtonColor;
+    final Color selectedPrayerColor;
+    final Color unselectedPrayerColor;
+    final Color hoverColor;
+    final Color textColor;
+    final Color borderColor;
+    final Color activeBorderColor;
+    final PrayerManagerConfig.PrayerBarColorScheme prayerPointsBarColor;
+
+    final PrayerManagerConfig.ErrorHandlingMode errorHandlingMode;
+
+    // Colour variants derived from the values above
+    final ThemePalette palette;
+
+    RenderSettings(PrayerManagerConfig config)
+    {
+        showPrayerGrid = config.showPrayerGrid();
+        showTimingBar = config.showTimingBar();
+        showTickJitter = config.showTickJitter();
+        showPrayerPoints = config.showPrayerPoints();
+        showQuickPrayerButton = config.showQuickPrayerButton();
+
+        gridActiveBookOnly = config.gridActiveBookOnly();
+        gridQuickPrayersOnly = config.gridQuickPrayersOnly();
+        gridUnlockedOnly = config.gridUnlockedOnly();
+        String customPrayers = config.gridCustomPrayers();
+        gridCustomPrayers = customPrayers != null ? customPrayers.trim() : "";
+
+        gridColumns = config.gridColumns();
+        quickPrayerButtonSize = config.quickPrayerButtonSize().getSize();
+
+        enableHoverEffects = config.enableHoverEffects();
+        enableClickFeedback = config.enableClickFeedback();
+        enableSmoothTransitions = config.enableSmoothTransitions();
+
+        opacity = config.overlayOpacity() / 100.0f;
+        opacityComposite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity);
+        dragOpacityComposite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity * DRAG_OPACITY_FACTOR);
+
+        quickPrayerButtonColor = config.quickPrayerButtonColor();
+        selectedPrayerColor = config.selectedPrayerColor();
+        unselectedPrayerColor = config.unselectedPrayerColor();
+        hoverColor = config.hoverColor();
+        textColor = config.textColor();
+        borderColor = config.borderColor();
+        activeBorderColor = config.activeBorderColor();
+        prayerPointsBarColor = config.prayerPointsBarColor();
+
+        errorHandlingMode = config.errorHandlingMode();
+
+        palette = new ThemePalette(this);
+    }
+}
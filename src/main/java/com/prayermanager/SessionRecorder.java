@@ -0,0 +1,399 @@
+package com.prayermanager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Singleton;
+import net.runelite.client.RuneLite;
+
+/**
+ * Optional binary log of game ticks, mouse events, prayer menu actions, tracked varbit changes,
+ * game state and prayer points, written to {@code .runelite/prayermanager}. Every record
+ * is {@link #RECORD_SIZE} bytes:
+ * <pre>
+ *  0  long   nanoseconds since the recording started
+ *  8  byte   {@link RecordType} code
+ *  9  byte   mouse button, 0 for other records
+ * 10  short  x, prayer ordinal, varbit value, game state or boosted prayer
+ * 12  int    y, tick count, varbit id or real prayer
+ * </pre>
+ * after a {@link #HEADER_SIZE} byte header holding {@link #MAGIC}, the format version, the record
+ * size and the wall clock start time. A ten minute fight is a few thousand records plus the mouse
+ * movement, a few hundred KB at most.
+ * <p>
+ * Recording calls may come from any thread and never wait for IO: they copy the record into a
+ * preallocated buffer under a short lock, and a background thread writes full buffers, or the
+ * current one every {@link #FLUSH_INTERVAL_MILLIS}, to a {@link FileChannel}. When the writer falls
+ * behind and every buffer is full, records are dropped and counted instead.
+ */
+@Singleton
+public class SessionRecorder
+{
+    private static final AsyncLog log = AsyncLog.getLogger(SessionRecorder.class);
+
+    static final int MAGIC = 0x504D5352; // "PMSR"
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 16;
+
+    private static final int BUFFER_RECORDS = 1024;
+    private static final int BUFFER_COUNT = 4;
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+
+    enum RecordType
+    {
+        TICK(1),
+        MOUSE_PRESSED(2),
+        MOUSE_RELEASED(3),
+        MOUSE_CLICKED(4),
+        MENU_ACTION(5),
+        VARBIT(6),
+        GAME_STATE(7),
+        PRAYER_POINTS(8),
+        MOUSE_MOVED(9),
+        MOUSE_DRAGGED(10);
+
+        private static final RecordType[] BY_CODE = new RecordType[16];
+
+        static
+        {
+            for (RecordType type : values())
+            {
+                BY_CODE[type.code] = type;
+            }
+        }
+
+        private final byte code;
+
+        RecordType(int code)
+        {
+            this.code = (byte) code;
+        }
+
+        byte getCode()
+        {
+            return code;
+        }
+
+        /**
+         * The type stored under {@code code}, null for codes this version does not know.
+         */
+        static RecordType fromCode(int code)
+        {
+            return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        }
+    }
+
+    private volatile Session session;
+
+    public boolean isRecording()
+    {
+        return session != null;
+    }
+
+    /**
+     * Starts a new recording in a new timestamped file. Does nothing while already recording.
+     */
+    public synchronized void start()
+    {
+        if (session == null)
+        {
+            session = new Session();
+        }
+    }
+
+    /**
+     * Stops recording. What was recorded so far is written out by the background thread, this
+     * call does not wait for it.
+     */
+    public synchronized void stop()
+    {
+        Session current = session;
+        if (current != null)
+        {
+            session = null;
+            current.close();
+        }
+    }
+
+    void recordTick(int tickCount)
+    {
+        append(RecordType.TICK, 0, 0, tickCount);
+    }
+
+    /**
+     * A mouse event seen by the plugin, {@code type} is one of the {@code MOUSE_*} records.
+     */
+    void recordMouse(RecordType type, int button, int x, int y)
+    {
+        append(type, button, x, y);
+    }
+
+    /**
+     * A prayer menu action being dispatched.
+     *
+     * @param ordinal  the prayer whose quick prayer selection is toggled, -1 for the quick prayer orb
+     * @param varbitId the varbit expected to change in response
+     */
+    void recordMenuAction(int ordinal, int varbitId)
+    {
+        append(RecordType.MENU_ACTION, 0, ordinal, varbitId);
+    }
+
+    void recordVarbit(int varbitId, int value)
+    {
+        append(RecordType.VARBIT, 0, value, varbitId);
+    }
+
+    void recordGameState(int gameStateOrdinal)
+    {
+        append(RecordType.GAME_STATE, 0, gameStateOrdinal, 0);
+    }
+
+    void recordPrayerPoints(int boosted, int real)
+    {
+        append(RecordType.PRAYER_POINTS, 0, boosted, real);
+    }
+
+    /**
+     * Writes the file header, {@link #HEADER_SIZE} bytes.
+     */
+    static void putHeader(ByteBuffer buffer, long startMillis)
+    {
+        buffer.putInt(MAGIC).putShort(FORMAT_VERSION).putShort((short) RECORD_SIZE).putLong(startMillis);
+    }
+
+    /**
+     * Writes one record, {@link #RECORD_SIZE} bytes.
+     */
+    static void putRecord(ByteBuffer buffer, long nanos, RecordType type, int arg, int a, int b)
+    {
+        buffer.putLong(nanos)
+            .put(type.code)
+            .put((byte) arg)
+            .putShort((short) a)
+            .putInt(b);
+    }
+
+    private void append(RecordType type, int arg, int a, int b)
+    {
+        Session current = session;
+        if (current != null)
+        {
+            current.append(type, arg, a, b);
+        }
+    }
+
+    /**
+     * One recording: its buffers, file and writer thread.
+     */
+    private static final class Session implements Runnable
+    {
+        // Queued after the last buffer to tell the writer to finish
+        private static final ByteBuffer END = ByteBuffer.allocate(0);
+        // Sessions started by this client, keeps file names unique within a millisecond
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        private final long startNanos = System.nanoTime();
+        private final long startMillis = System.currentTimeMillis();
+        private final File file;
+
+        // Guards active and free, held only to copy one record or swap a buffer
+        private final Object lock = new Object();
+        private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>(BUFFER_COUNT);
+        private final ArrayBlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(BUFFER_COUNT + 1);
+        private ByteBuffer active;
+        private long dropped;
+
+        private boolean closed;
+
+        Session()
+        {
+            String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date(startMillis));
+            file = new File(new File(RuneLite.RUNELITE_DIR, "prayermanager"),
+                "session-" + timestamp + "-" + SEQUENCE.incrementAndGet() + ".pmrec");
+
+            for (int i = 0; i < BUFFER_COUNT; i++)
+            {
+                free.add(ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE));
+            }
+            active = free.poll();
+
+            Thread writer = new Thread(this, "prayermanager-recorder");
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        void append(RecordType type, int arg, int a, int b)
+        {
+            long nanos = System.nanoTime() - startNanos;
+            synchronized (lock)
+            {
+                ByteBuffer buffer = active;
+                if (buffer == null || closed)
+                {
+                    dropped++;
+                    return;
+                }
+
+                putRecord(buffer, nanos, type, arg, a, b);
+                if (!buffer.hasRemaining())
+                {
+                    // The queue has room for every buffer, offer cannot fail
+                    full.offer(buffer);
+                    active = free.poll();
+                }
+            }
+        }
+
+        void close()
+        {
+            synchronized (lock)
+            {
+                closed = true;
+                full.offer(END);
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            try (FileChannel channel = openChannel())
+            {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                putHeader(header, startMillis);
+                header.flip();
+                writeFully(channel, header);
+
+                while (true)
+                {
+                    ByteBuffer buffer = full.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (buffer == END)
+                    {
+                        break;
+                    }
+                    if (buffer == null)
+                    {
+                        // A buffer may have filled since the poll timed out, it goes first
+                        buffer = takeFullOrActive();
+                        if (buffer == END)
+                        {
+                            break;
+                        }
+                    }
+                    write(channel, buffer);
+                }
+
+                // Recording has stopped, nothing is appended any more
+                write(channel, takeActive());
+
+                long lost;
+                synchronized (lock)
+                {
+                    lost = dropped;
+                }
+                log.info("Session recording written to {} ({} bytes, {} records dropped)", file, channel.size(), lost);
+            }
+            catch (IOException e)
+            {
+                log.warn("Session recording to {} failed: {}", file, e.getMessage());
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            finally
+            {
+                synchronized (lock)
+                {
+                    // Stop collecting if the file could not be written
+                    closed = true;
+                }
+            }
+        }
+
+        private FileChannel openChannel() throws IOException
+        {
+            File directory = file.getParentFile();
+            if (!directory.isDirectory() && !directory.mkdirs())
+            {
+                throw new IOException("Could not create " + directory);
+            }
+
+            // Never reuse a file, a second recording started in the same second gets its own
+            return FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        /**
+         * The oldest full buffer if one was queued, otherwise the active one as
+         * {@link #takeActive()}. Holding the lock keeps {@code append} from queueing a full buffer
+         * between the two checks, which would be written after the newer active one.
+         */
+        private ByteBuffer takeFullOrActive()
+        {
+            synchronized (lock)
+            {
+                ByteBuffer buffer = full.poll();
+                return buffer != null ? buffer : takeActive();
+            }
+        }
+
+        /**
+         * Hands the partly filled active buffer to the writer, null when it is empty.
+         */
+        private ByteBuffer takeActive()
+        {
+            synchronized (lock)
+            {
+                ByteBuffer buffer = active;
+                if (buffer == null || buffer.position() == 0)
+                {
+                    return null;
+                }
+                active = free.poll();
+                return buffer;
+            }
+        }
+
+        private void write(FileChannel channel, ByteBuffer buffer) throws IOException
+        {
+            if (buffer == null)
+            {
+                return;
+            }
+
+            buffer.flip();
+            writeFully(channel, buffer);
+            buffer.clear();
+
+            synchronized (lock)
+            {
+                if (active == null)
+                {
+                    // Every buffer was full, recording resumes with this one
+                    active = buffer;
+                }
+                else
+                {
+                    free.add(buffer);
+                }
+            }
+        }
+
+        private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+        {
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+        }
+    }
+}
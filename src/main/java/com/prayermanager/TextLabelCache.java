@@ -0,0 +1,194 @@
+package com.prayermanager;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.inject.Singleton;
+
+/**
+ * Pre-rendered text labels keyed by (text, font, colour, shadow, text antialiasing). A label is
+ * rasterized once, with its optional one pixel black drop shadow, and afterwards painted with a
+ * single blit. Callers keep the label they were given and pass it back as {@code previous}, so an
+ * unchanged label costs a few field compares and no map lookup. Used from the render thread only.
+ */
+@Singleton
+public class TextLabelCache
+{
+    private static final int MAX_ENTRIES = 64;
+
+    /**
+     * A rasterized label and the metrics needed to place it like {@code drawString} would.
+     */
+    static final class Label
+    {
+        private final String text;
+        private final Font font;
+        private final int argb;
+        private final boolean shadowed;
+        private final Object antialiasing;
+
+        private final BufferedImage image;
+        private final int width;
+        private final int ascent;
+
+        private Label(String text, Font font, int argb, boolean shadowed, Object antialiasing,
+            BufferedImage image, int width, int ascent)
+        {
+            this.text = text;
+            this.font = font;
+            this.argb = argb;
+            this.shadowed = shadowed;
+            this.antialiasing = antialiasing;
+            this.image = image;
+            this.width = width;
+            this.ascent = ascent;
+        }
+
+        boolean matches(String text, Font font, Color color, boolean shadowed, Object antialiasing)
+        {
+            return this.argb == color.getRGB()
+                && this.shadowed == shadowed
+                && this.antialiasing == antialiasing
+                && this.font.equals(font)
+                && this.text.equals(text);
+        }
+
+        String getText()
+        {
+            return text;
+        }
+
+        /**
+         * Advance width of the text, excluding the shadow.
+         */
+        int getWidth()
+        {
+            return width;
+        }
+
+        int getAscent()
+        {
+            return ascent;
+        }
+
+        /**
+         * Paints the label with its baseline at {@code baselineY}, same placement as
+         * {@code drawString(text, x, baselineY)}.
+         */
+        void draw(Graphics2D graphics, int x, int baselineY)
+        {
+            graphics.drawImage(image, x, baselineY - ascent, null);
+        }
+    }
+
+    private static final class Key
+    {
+        private final String text;
+        private final Font font;
+        private final int argb;
+        private final boolean shadowed;
+        private final Object antialiasing;
+
+        Key(String text, Font font, int argb, boolean shadowed, Object antialiasing)
+        {
+            this.text = text;
+            this.font = font;
+            this.argb = argb;
+            this.shadowed = shadowed;
+            this.antialiasing = antialiasing;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Key))
+            {
+                return false;
+            }
+            Key other = (Key) o;
+            return argb == other.argb && shadowed == other.shadowed && antialiasing == other.antialiasing
+                && font.equals(other.font) && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(text, font, argb, shadowed, antialiasing);
+        }
+    }
+
+    // Least recently used labels are dropped once the cache is full
+    private final Map<Key, Label> labels = new LinkedHashMap<Key, Label>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Label> eldest)
+        {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Returns a label for the text in the graphics' current font and text antialiasing. Returns
+     * {@code previous} unchanged when it already matches.
+     */
+    Label get(Label previous, Graphics2D graphics, String text, Color color, boolean shadowed)
+    {
+        Font font = graphics.getFont();
+        Object antialiasing = graphics.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+        if (previous != null && previous.matches(text, font, color, shadowed, antialiasing))
+        {
+            return previous;
+        }
+
+        Key key = new Key(text, font, color.getRGB(), shadowed, antialiasing);
+        Label label = labels.get(key);
+        if (label == null)
+        {
+            label = rasterize(graphics, text, font, color, shadowed, antialiasing);
+            labels.put(key, label);
+        }
+        return label;
+    }
+
+    private static Label rasterize(Graphics2D target, String text, Font font, Color color, boolean shadowed, Object antialiasing)
+    {
+        FontMetrics fm = target.getFontMetrics(font);
+        int width = fm.stringWidth(text);
+        int ascent = fm.getAscent();
+        int shadowOffset = shadowed ? 1 : 0;
+
+        BufferedImage image = new BufferedImage(
+            Math.max(1, width + shadowOffset),
+            Math.max(1, fm.getHeight() + shadowOffset),
+            BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g = image.createGraphics();
+        try
+        {
+            g.setComposite(AlphaComposite.SrcOver);
+            g.setFont(font);
+            g.setRenderingHints(target.getRenderingHints());
+            if (shadowed)
+            {
+                g.setColor(Color.BLACK);
+                g.drawString(text, 1, ascent + 1);
+            }
+            g.setColor(color);
+            g.drawString(text, 0, ascent);
+        }
+        finally
+        {
+            g.dispose();
+        }
+
+        int argb = color.getRGB();
+        return new Label(text, font, argb, shadowed, antialiasing, image, width, ascent);
+    }
+}
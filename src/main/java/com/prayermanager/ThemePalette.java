@@ -0,0 +1,111 @@
+package com.prayermanager;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Stroke;
+
+/**
+ * Every colour and stroke the overlays paint with, derived once from a {@link RenderSettings}
+ * snapshot. Paint calls read fields from here instead of building or brightening colours per frame.
+ */
+final class ThemePalette
+{
+    private static final float BUTTON_HOVER_BRIGHTEN = 0.1f;
+    private static final float TILE_HOVER_BORDER_BRIGHTEN = 0.3f;
+    private static final int BUTTON_INACTIVE_ALPHA = 127;
+
+    // Prayer points bar colour for every whole percentage 0-100
+    private final Color[] pointsBarColors = new Color[101];
+
+    // Indexed by PrayerTileAtlas background state
+    private final Color[] tileBackgrounds = new Color[4];
+
+    // Quick prayer button backgrounds
+    final Color buttonActive;
+    final Color buttonInactive;
+    final Color buttonActiveHover;
+    final Color buttonInactiveHover;
+
+    final Color tileHoverBorder;
+
+    // Fixed colours that are not configurable
+    final Color gridBackground = new Color(0, 0, 0, 100);
+    final Color pointsBarBackground = new Color(64, 64, 64);
+    final Color errorBackground = new Color(139, 0, 0, 100);
+    final Color timingBarBackground = new Color(0, 0, 0, 100);
+    final Color timingBarProgress = new Color(255, 255, 0, 150);
+    final Color jitterBackground = new Color(0, 0, 0, 100);
+    final Color jitterNominal = new Color(255, 255, 255, 60);
+    final Color jitterLine = new Color(255, 255, 0, 200);
+    final Color jitterSpike = new Color(255, 64, 64);
+
+    // Dashed borders shown while an overlay is dragged
+    final Color panelDragBorder = new Color(255, 255, 0, 100);
+    final Stroke panelDragStroke = new BasicStroke(2.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 0, new float[]{5}, 0);
+    final Color timingDragBorder = new Color(0, 255, 255, 150);
+    final Stroke timingDragStroke = new BasicStroke(2.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 0, new float[]{3}, 0);
+
+    ThemePalette(RenderSettings settings)
+    {
+        // Resolve the scheme's thresholds once, they all fall on whole percentages
+        for (int percent = 0; percent < pointsBarColors.length; percent++)
+        {
+            pointsBarColors[percent] = settings.prayerPointsBarColor.getColorForPercentage(percent / 100.0);
+        }
+
+        tileBackgrounds[PrayerTileAtlas.BACKGROUND_UNSELECTED] = settings.unselectedPrayerColor;
+        tileBackgrounds[PrayerTileAtlas.BACKGROUND_SELECTED] = settings.selectedPrayerColor;
+        tileBackgrounds[PrayerTileAtlas.BACKGROUND_HOVER] = settings.hoverColor;
+        tileBackgrounds[PrayerTileAtlas.BACKGROUND_CLICKED] = new Color(255, 255, 255, 180);
+
+        Color base = settings.quickPrayerButtonColor != null ? settings.quickPrayerButtonColor : Color.BLUE;
+        buttonActive = withAlpha(base, 255);
+        buttonInactive = withAlpha(base, BUTTON_INACTIVE_ALPHA);
+        buttonActiveHover = brighten(buttonActive, BUTTON_HOVER_BRIGHTEN);
+        buttonInactiveHover = brighten(buttonInactive, BUTTON_HOVER_BRIGHTEN);
+
+        tileHoverBorder = brighten(settings.borderColor, TILE_HOVER_BORDER_BRIGHTEN);
+    }
+
+    /**
+     * Bar colour for a current / max prayer ratio, same thresholds as the configured scheme.
+     */
+    Color getPointsBarColor(double percentage)
+    {
+        // Round up so a ratio just above a threshold does not fall back below it
+        int percent = (int) Math.ceil(percentage * 100);
+        return pointsBarColors[Math.max(0, Math.min(100, percent))];
+    }
+
+    Color getTileBackground(int background)
+    {
+        return tileBackgrounds[background];
+    }
+
+    Color getButtonBackground(boolean active, boolean hovered)
+    {
+        if (active)
+        {
+            return hovered ? buttonActiveHover : buttonActive;
+        }
+        return hovered ? buttonInactiveHover : buttonInactive;
+    }
+
+    private static Color withAlpha(Color color, int alpha)
+    {
+        return new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha);
+    }
+
+    private static Color brighten(Color color, float factor)
+    {
+        if (color == null)
+        {
+            return null;
+        }
+
+        int r = Math.min(255, (int) (color.getRed() * (1 + factor)));
+        int g = Math.min(255, (int) (color.getGreen() * (1 + factor)));
+        int b = Math.min(255, (int) (color.getBlue() * (1 + factor)));
+        return new Color(r, g, b, color.getAlpha());
+    }
+}
@@ -0,0 +1,131 @@
+package com.prayermanager;
+
+/**
+ * The last {@link #CAPACITY} game tick intervals in a primitive ring, with their min, mean, max
+ * and standard deviation recomputed once per tick. Shows whether a missed flick came from our
+ * timing or from the server: a steady history hugs {@link TickPhaseEstimator#NOMINAL_PERIOD_NANOS},
+ * lag spikes stand out. All methods are called on the client thread.
+ */
+final class TickJitterHistory
+{
+    static final int CAPACITY = 256;
+
+    // Longer gaps are logins, hops or a stalled client rather than a late tick
+    private static final long MAX_INTERVAL_NANOS = TickPhaseEstimator.NOMINAL_PERIOD_NANOS * 5;
+
+    private final long[] intervals = new long[CAPACITY];
+    private int count;
+    private int next;
+    private long lastTickNanos;
+    // nanoTime can be any value, 0 included, so the first tick is tracked on its own
+    private boolean hasLastTick;
+
+    // Bumped on every recorded interval, lets the renderer tell when to redraw
+    private int version;
+
+    private long min;
+    private long max;
+    private long mean;
+    private long stdDev;
+
+    /**
+     * Records a game tick observed at {@code now}.
+     */
+    void onTick(long now)
+    {
+        long interval = now - lastTickNanos;
+        boolean first = !hasLastTick;
+        lastTickNanos = now;
+        hasLastTick = true;
+        if (first || interval <= 0 || interval > MAX_INTERVAL_NANOS)
+        {
+            return;
+        }
+
+        intervals[next] = interval;
+        next = (next + 1) % CAPACITY;
+        count = Math.min(count + 1, CAPACITY);
+        version++;
+        updateStats();
+    }
+
+    private void updateStats()
+    {
+        long lo = Long.MAX_VALUE;
+        long hi = Long.MIN_VALUE;
+        long sum = 0;
+        for (int i = 0; i < count; i++)
+        {
+            long interval = intervals[i];
+            lo = Math.min(lo, interval);
+            hi = Math.max(hi, interval);
+            sum += interval;
+        }
+
+        double average = (double) sum / count;
+        double squares = 0;
+        for (int i = 0; i < count; i++)
+        {
+            double deviation = intervals[i] - average;
+            squares += deviation * deviation;
+        }
+
+        min = lo;
+        max = hi;
+        mean = Math.round(average);
+        stdDev = Math.round(Math.sqrt(squares / count));
+    }
+
+    /**
+     * Number of intervals held, at most {@link #CAPACITY}.
+     */
+    int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Interval {@code index} in nanoseconds, 0 being the oldest held.
+     */
+    long get(int index)
+    {
+        return intervals[(next - count + index + CAPACITY) % CAPACITY];
+    }
+
+    int getVersion()
+    {
+        return version;
+    }
+
+    long getMin()
+    {
+        return min;
+    }
+
+    long getMax()
+    {
+        return max;
+    }
+
+    long getMean()
+    {
+        return mean;
+    }
+
+    long getStdDev()
+    {
+        return stdDev;
+    }
+
+    /**
+     * Forgets all history, the next tick starts a new interval.
+     */
+    void reset()
+    {
+        count = 0;
+        next = 0;
+        hasLastTick = false;
+        version++;
+        min = max = mean = stdDev = 0;
+    }
+}
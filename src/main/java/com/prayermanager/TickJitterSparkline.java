@@ -0,0 +1,144 @@
+package com.prayermanager;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Sparkline of a {@link TickJitterHistory} with its min, mean, max and standard deviation
+ * underneath, cached in an image that is only redrawn when a new interval was recorded or the
+ * settings or font changed. The plot is centred on the nominal tick length and scaled to the
+ * largest deviation held, so a steady server draws a flat line. Intervals more than
+ * {@link #SPIKE_NANOS} off are marked. Used from the render thread only.
+ */
+final class TickJitterSparkline
+{
+    static final int GRAPH_HEIGHT = 24;
+    static final int HEIGHT = GRAPH_HEIGHT + 16;
+
+    private static final long NOMINAL = TickPhaseEstimator.NOMINAL_PERIOD_NANOS;
+    private static final long SPIKE_NANOS = 100_000_000L;
+    // Smallest half range of the plot, keeps normal client jitter from filling the whole height
+    private static final long MIN_SPAN_NANOS = 50_000_000L;
+
+    private final int width;
+    private final int[] xPoints = new int[TickJitterHistory.CAPACITY];
+    private final int[] yPoints = new int[TickJitterHistory.CAPACITY];
+
+    private BufferedImage image;
+    private int drawnVersion = -1;
+    private RenderSettings drawnSettings;
+    private Font drawnFont;
+
+    TickJitterSparkline(int width)
+    {
+        this.width = width;
+    }
+
+    void draw(Graphics2D graphics, RenderSettings settings, TickJitterHistory history, int x, int y)
+    {
+        if (image == null || history.getVersion() != drawnVersion || settings != drawnSettings
+            || !graphics.getFont().equals(drawnFont))
+        {
+            redraw(graphics, settings, history);
+        }
+        graphics.drawImage(image, x, y, null);
+    }
+
+    private void redraw(Graphics2D target, RenderSettings settings, TickJitterHistory history)
+    {
+        if (image == null)
+        {
+            GraphicsConfiguration gc = target.getDeviceConfiguration();
+            image = gc != null
+                ? gc.createCompatibleImage(width, HEIGHT, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        ThemePalette palette = settings.palette;
+        Graphics2D g = image.createGraphics();
+        try
+        {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, width, HEIGHT);
+            g.setComposite(AlphaComposite.SrcOver);
+            g.setFont(target.getFont());
+            g.setRenderingHints(target.getRenderingHints());
+
+            g.setColor(palette.jitterBackground);
+            g.fillRect(0, 0, width, GRAPH_HEIGHT);
+            g.setColor(palette.jitterNominal);
+            g.drawLine(0, GRAPH_HEIGHT / 2, width - 1, GRAPH_HEIGHT / 2);
+
+            int count = history.getCount();
+            String stats = "Waiting for ticks";
+            if (count > 0)
+            {
+                plot(g, palette, history, count);
+                // Range first, it is what shows a lag spike
+                stats = String.format("%d-%d ms, avg %d sd %d",
+                    history.getMin() / 1_000_000,
+                    history.getMax() / 1_000_000,
+                    history.getMean() / 1_000_000,
+                    history.getStdDev() / 1_000_000);
+            }
+
+            g.setColor(settings.borderColor);
+            g.drawRect(0, 0, width - 1, GRAPH_HEIGHT - 1);
+
+            int baseline = GRAPH_HEIGHT + g.getFontMetrics().getAscent() + 1;
+            g.setColor(Color.BLACK);
+            g.drawString(stats, 6, baseline + 1);
+            g.setColor(settings.textColor);
+            g.drawString(stats, 5, baseline);
+        }
+        finally
+        {
+            g.dispose();
+        }
+
+        drawnVersion = history.getVersion();
+        drawnSettings = settings;
+        drawnFont = target.getFont();
+    }
+
+    private void plot(Graphics2D g, ThemePalette palette, TickJitterHistory history, int count)
+    {
+        long span = Math.max(MIN_SPAN_NANOS,
+            Math.max(history.getMax() - NOMINAL, NOMINAL - history.getMin()));
+        int half = GRAPH_HEIGHT / 2 - 2;
+
+        // Newest interval on the right edge, the full ring spans the whole width
+        int lastIndex = TickJitterHistory.CAPACITY - 1;
+        int offset = TickJitterHistory.CAPACITY - count;
+        for (int i = 0; i < count; i++)
+        {
+            long deviation = history.get(i) - NOMINAL;
+            xPoints[i] = (int) ((long) (offset + i) * (width - 1) / lastIndex);
+            yPoints[i] = GRAPH_HEIGHT / 2 - (int) (deviation * half / span);
+        }
+
+        g.setColor(palette.jitterLine);
+        if (count > 1)
+        {
+            g.drawPolyline(xPoints, yPoints, count);
+        }
+        else
+        {
+            g.fillRect(xPoints[0], yPoints[0], 1, 1);
+        }
+
+        g.setColor(palette.jitterSpike);
+        for (int i = 0; i < count; i++)
+        {
+            if (Math.abs(history.get(i) - NOMINAL) > SPIKE_NANOS)
+            {
+                g.fillRect(xPoints[i] - 1, yPoints[i] - 1, 3, 3);
+            }
+        }
+    }
+}
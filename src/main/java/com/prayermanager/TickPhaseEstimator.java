@@ -0,0 +1,116 @@
+package com.prayermanager;
+
+import java.util.Arrays;
+
+/**
+ * Estimates where the client is within the current game tick from {@code System.nanoTime}
+ * timestamps of recent {@code GameTick} events. The period is the median of the last
+ * {@link #HISTORY_SIZE} tick intervals, so a single lagged tick does not skew it, and each tick
+ * only nudges the predicted boundary towards its arrival time to filter out event jitter.
+ * All methods are called on the client thread.
+ */
+final class TickPhaseEstimator
+{
+    static final long NOMINAL_PERIOD_NANOS = 600_000_000L;
+
+    private static final int HISTORY_SIZE = 16;
+
+    // Intervals outside this range are loading screens, hops or a stalled client, not ticks
+    private static final long MIN_INTERVAL_NANOS = NOMINAL_PERIOD_NANOS / 4;
+    private static final long MAX_INTERVAL_NANOS = NOMINAL_PERIOD_NANOS * 3;
+
+    // Share of the prediction error applied to the boundary on each tick
+    private static final double PHASE_GAIN = 0.25;
+
+    private final long[] intervals = new long[HISTORY_SIZE];
+    private final long[] sortScratch = new long[HISTORY_SIZE];
+    private int intervalCount;
+    private int nextInterval;
+
+    private long lastTickNanos;
+    private long boundaryNanos;
+    private long periodNanos = NOMINAL_PERIOD_NANOS;
+    private boolean synced;
+
+    /**
+     * Records a game tick observed at {@code now}.
+     */
+    void onTick(long now)
+    {
+        if (!synced)
+        {
+            resync(now);
+            return;
+        }
+
+        long interval = now - lastTickNanos;
+        lastTickNanos = now;
+        if (interval < MIN_INTERVAL_NANOS || interval > MAX_INTERVAL_NANOS)
+        {
+            resync(now);
+            return;
+        }
+
+        intervals[nextInterval] = interval;
+        nextInterval = (nextInterval + 1) % HISTORY_SIZE;
+        intervalCount = Math.min(intervalCount + 1, HISTORY_SIZE);
+        periodNanos = medianInterval();
+
+        // Move the predicted boundary part of the way towards the observed one
+        long predicted = boundaryNanos + periodNanos;
+        long error = now - predicted;
+        if (Math.abs(error) > periodNanos / 2)
+        {
+            // More than half a tick off, the estimate is no longer tracking the server
+            boundaryNanos = now;
+        }
+        else
+        {
+            boundaryNanos = predicted + (long) (error * PHASE_GAIN);
+        }
+    }
+
+    /**
+     * Fraction of the current tick that has elapsed at {@code now}, from 0 to 1. Stays at 1 once the
+     * predicted boundary has passed without a tick instead of wrapping into the next one.
+     */
+    double getProgress(long now)
+    {
+        if (!synced)
+        {
+            return 0;
+        }
+
+        long elapsed = now - boundaryNanos;
+        if (elapsed <= 0)
+        {
+            return 0;
+        }
+        return elapsed >= periodNanos ? 1.0 : (double) elapsed / periodNanos;
+    }
+
+    /**
+     * Forgets all history, called on logout and world hops.
+     */
+    void reset()
+    {
+        synced = false;
+        intervalCount = 0;
+        nextInterval = 0;
+        periodNanos = NOMINAL_PERIOD_NANOS;
+    }
+
+    private void resync(long now)
+    {
+        lastTickNanos = now;
+        boundaryNanos = now;
+        synced = true;
+    }
+
+    private long medianInterval()
+    {
+        System.arraycopy(intervals, 0, sortScratch, 0, intervalCount);
+        Arrays.sort(sortScratch, 0, intervalCount);
+        return sortScratch[intervalCount / 2];
+    }
+}
@@ -0,0 +1,462 @@
+package com.prayermanager;
+
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.RenderingHints;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import javax.inject.Inject;
+import org.mockito.Mockito;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Prayer;
+import net.runelite.api.Skill;
+import net.runelite.api.Varbits;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.input.MouseAdapter;
+
+/**
+ * Runs the plugin and both overlays without a game client. {@link Client} and
+ * {@link PrayerManagerConfig} are dynamic proxies backed by plain maps, {@link ConfigManager} is a
+ * mock that writes into the same map, and {@code @Inject} fields are filled reflectively, so
+ * benchmarks and render tests work on a headless JVM. Types that cannot be built headlessly
+ * (overlay and mouse managers) stay null. Mouse events can still be fed to the plugin's own listener
+ * through {@link #dispatchMouse(MouseEvent)}, and time can come from a substitute {@link PluginClock}.
+ */
+public class HeadlessFixture
+{
+    public static final int CANVAS_WIDTH = 765;
+    public static final int CANVAS_HEIGHT = 503;
+
+    private final Map<String, Object> configValues = new HashMap<>();
+    private final Map<Integer, Integer> varbits = new HashMap<>();
+    private final Map<Class<?>, Object> bindings = new HashMap<>();
+    private final Component eventSource = new Canvas();
+
+    private GameState gameState = GameState.LOGGED_IN;
+    private int boostedPrayer = 70;
+    private int realPrayer = 70;
+    private int tickCount;
+    private int menuActionCount;
+    private int clientThreadTaskCount;
+
+    private final Client client;
+    private final PrayerManagerConfig config;
+    private final PrayerManager plugin;
+    private final PrayerManagerOverlay overlay;
+    private final PrayerTimingOverlay timingOverlay;
+    private final QuickPrayerState quickPrayerState;
+    private final PrayerCatalog prayerCatalog;
+    private final MouseAdapter mouseListener;
+
+    public HeadlessFixture()
+    {
+        this(new PluginClock());
+    }
+
+    public HeadlessFixture(PluginClock clock)
+    {
+        System.setProperty("java.awt.headless", "true");
+
+        client = proxy(Client.class, this::invokeClient);
+        config = proxy(PrayerManagerConfig.class, this::invokeConfig);
+        bindings.put(Client.class, client);
+        bindings.put(PrayerManagerConfig.class, config);
+        bindings.put(PluginClock.class, clock);
+
+        // Saved values are read back through the config proxy and announced like the real manager does
+        ConfigManager configManager = Mockito.mock(ConfigManager.class);
+        Mockito.doAnswer(invocation ->
+        {
+            setConfig(invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(configManager).setConfiguration(Mockito.eq("prayermanager"), Mockito.anyString(), Mockito.any(Object.class));
+        bindings.put(ConfigManager.class, configManager);
+
+        // Runs tasks inline like the real one does on the client thread, counting them
+        ClientThread clientThread = new ClientThread()
+        {
+            @Override
+            public void invoke(Runnable task)
+            {
+                clientThreadTaskCount++;
+                super.invoke(task);
+            }
+        };
+        injectMembers(clientThread);
+        bindings.put(ClientThread.class, clientThread);
+
+        plugin = getInstance(PrayerManager.class);
+        overlay = getInstance(PrayerManagerOverlay.class);
+        timingOverlay = getInstance(PrayerTimingOverlay.class);
+        quickPrayerState = getInstance(QuickPrayerState.class);
+        prayerCatalog = getInstance(PrayerCatalog.class);
+        mouseListener = readField(plugin, "mouseAdapter");
+
+        overlay.setPreferredLocation(new Point(10, 10));
+        timingOverlay.setPreferredLocation(new Point(10, 400));
+
+        // Same effect as startUp without the managers that need a running client
+        fireConfigChanged("");
+        quickPrayerState.refresh();
+        getInstance(GameStateTracker.class).update();
+    }
+
+    public Client getClient()
+    {
+        return client;
+    }
+
+    public PrayerManager getPlugin()
+    {
+        return plugin;
+    }
+
+    public PrayerManagerOverlay getOverlay()
+    {
+        return overlay;
+    }
+
+    public PrayerTimingOverlay getTimingOverlay()
+    {
+        return timingOverlay;
+    }
+
+    public QuickPrayerState getQuickPrayerState()
+    {
+        return quickPrayerState;
+    }
+
+    public PrayerCatalog getPrayerCatalog()
+    {
+        return prayerCatalog;
+    }
+
+    /**
+     * Overrides a config item by its key name and publishes a {@link ConfigChanged} for it.
+     */
+    public void setConfig(String keyName, Object value)
+    {
+        configValues.put(keyName, value);
+        fireConfigChanged(keyName);
+    }
+
+    private void fireConfigChanged(String keyName)
+    {
+        ConfigChanged event = new ConfigChanged();
+        event.setGroup("prayermanager");
+        event.setKey(keyName);
+        plugin.onConfigChanged(event);
+    }
+
+    public void setGameState(GameState gameState)
+    {
+        this.gameState = gameState;
+        GameStateChanged event = new GameStateChanged();
+        event.setGameState(gameState);
+        plugin.onGameStateChanged(event);
+    }
+
+    public void setPrayerPoints(int boosted, int real)
+    {
+        this.boostedPrayer = boosted;
+        this.realPrayer = real;
+        plugin.onStatChanged(new StatChanged(Skill.PRAYER, 0, real, boosted));
+    }
+
+    public int getVarbit(int varbitId)
+    {
+        return varbits.getOrDefault(varbitId, 0);
+    }
+
+    /**
+     * Sets a varbit and delivers the change to the plugin like the client would.
+     */
+    public void setVarbit(int varbitId, int value)
+    {
+        varbits.put(varbitId, value);
+        VarbitChanged event = new VarbitChanged();
+        event.setVarbitId(varbitId);
+        event.setValue(value);
+        plugin.onVarbitChanged(event);
+    }
+
+    public void setQuickPrayerSelected(Prayer prayer, boolean selected)
+    {
+        int varbitId = prayerCatalog.getQuickPrayerVarbit(prayer.ordinal());
+        if (varbitId != -1)
+        {
+            setVarbit(varbitId, selected ? 1 : 0);
+        }
+    }
+
+    public void setQuickPrayerActive(boolean active)
+    {
+        setVarbit(Varbits.QUICK_PRAYER, active ? 1 : 0);
+    }
+
+    public void tick()
+    {
+        tickCount++;
+        plugin.onGameTick(new GameTick());
+    }
+
+    /**
+     * Number of {@code menuAction} calls the plugin made on the client.
+     */
+    public int getMenuActionCount()
+    {
+        return menuActionCount;
+    }
+
+    /**
+     * Number of tasks the plugin passed to {@link ClientThread#invoke(Runnable)}.
+     */
+    public int getClientThreadTaskCount()
+    {
+        return clientThreadTaskCount;
+    }
+
+    /**
+     * Delivers a mouse event to the listener the plugin registers with the mouse manager.
+     *
+     * @return the event as returned by the listener, null if the plugin consumed it
+     */
+    public MouseEvent dispatchMouse(MouseEvent event)
+    {
+        switch (event.getID())
+        {
+            case MouseEvent.MOUSE_PRESSED:
+                return mouseListener.mousePressed(event);
+            case MouseEvent.MOUSE_RELEASED:
+                return mouseListener.mouseReleased(event);
+            case MouseEvent.MOUSE_CLICKED:
+                return mouseListener.mouseClicked(event);
+            case MouseEvent.MOUSE_DRAGGED:
+                return mouseListener.mouseDragged(event);
+            case MouseEvent.MOUSE_MOVED:
+                return mouseListener.mouseMoved(event);
+            default:
+                return event;
+        }
+    }
+
+    public MouseEvent mouseEvent(int id, int x, int y)
+    {
+        return mouseEvent(id, x, y, MouseEvent.BUTTON1);
+    }
+
+    public MouseEvent mouseEvent(int id, int x, int y, int button)
+    {
+        return new MouseEvent(eventSource, id, System.currentTimeMillis(), 0, x, y, 1, false, button);
+    }
+
+    /**
+     * Creates an offscreen canvas with the font and text hints the overlay renderer uses in game.
+     */
+    public static BufferedImage createCanvas()
+    {
+        return new BufferedImage(CANVAS_WIDTH, CANVAS_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    public static Graphics2D createGraphics(BufferedImage canvas)
+    {
+        Graphics2D graphics = canvas.createGraphics();
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 12));
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+        return graphics;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getInstance(Class<T> type)
+    {
+        Object instance = bindings.get(type);
+        if (instance == null)
+        {
+            try
+            {
+                instance = type.getDeclaredConstructor().newInstance();
+            }
+            catch (ReflectiveOperationException e)
+            {
+                throw new IllegalStateException("Unable to create " + type.getName(), e);
+            }
+            bindings.put(type, instance);
+            injectMembers(instance);
+        }
+        return (T) instance;
+    }
+
+    private void injectMembers(Object instance)
+    {
+        for (Class<?> type = instance.getClass(); type != null && type != Object.class; type = type.getSuperclass())
+        {
+            for (Field field : type.getDeclaredFields())
+            {
+                if (!field.isAnnotationPresent(Inject.class) || Modifier.isStatic(field.getModifiers()))
+                {
+                    continue;
+                }
+
+                Object value = resolve(field.getType());
+                if (value == null)
+                {
+                    continue;
+                }
+
+                try
+                {
+                    field.setAccessible(true);
+                    field.set(instance, value);
+                }
+                catch (IllegalAccessException e)
+                {
+                    throw new IllegalStateException("Unable to inject " + field, e);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T readField(Object instance, String name)
+    {
+        try
+        {
+            Field field = instance.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            return (T) field.get(instance);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException("Unable to read " + name, e);
+        }
+    }
+
+    private Object resolve(Class<?> type)
+    {
+        Object bound = bindings.get(type);
+        if (bound != null)
+        {
+            return bound;
+        }
+
+        // Plugin classes are created on demand, anything else has to be bound explicitly
+        if (type.getPackage() == HeadlessFixture.class.getPackage() && !type.isInterface())
+        {
+            return getInstance(type);
+        }
+        return null;
+    }
+
+    private Object invokeClient(Object proxy, Method method, Object[] args)
+    {
+        switch (method.getName())
+        {
+            case "getGameState":
+                return gameState;
+            case "getBoostedSkillLevel":
+                return args[0] == Skill.PRAYER ? boostedPrayer : 1;
+            case "getRealSkillLevel":
+                return args[0] == Skill.PRAYER ? realPrayer : 1;
+            case "getVarbitValue":
+                return getVarbit((Integer) args[0]);
+            case "getCanvasWidth":
+                return CANVAS_WIDTH;
+            case "getCanvasHeight":
+                return CANVAS_HEIGHT;
+            case "getTickCount":
+                return tickCount;
+            case "isClientThread":
+                return true;
+            case "menuAction":
+                menuActionCount++;
+                return null;
+            default:
+                return defaultValue(proxy, method, args);
+        }
+    }
+
+    private Object invokeConfig(Object proxy, Method method, Object[] args) throws Throwable
+    {
+        Object value = configValues.get(method.getName());
+        if (value != null)
+        {
+            return value;
+        }
+        if (method.isDefault())
+        {
+            return InvocationHandler.invokeDefault(proxy, method, args);
+        }
+        return defaultValue(proxy, method, args);
+    }
+
+    private static Object defaultValue(Object proxy, Method method, Object[] args)
+    {
+        switch (method.getName())
+        {
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "Headless" + method.getDeclaringClass().getSimpleName();
+        }
+
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class)
+        {
+            return false;
+        }
+        if (type == long.class)
+        {
+            return 0L;
+        }
+        if (type == double.class)
+        {
+            return 0d;
+        }
+        if (type == float.class)
+        {
+            return 0f;
+        }
+        if (type == int.class)
+        {
+            return 0;
+        }
+        if (type == short.class)
+        {
+            return (short) 0;
+        }
+        if (type == byte.class)
+        {
+            return (byte) 0;
+        }
+        if (type == char.class)
+        {
+            return '\0';
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler)
+    {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,356 @@
+package com.prayermanager;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+import net.runelite.api.Prayer;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Renders both overlays headlessly for a matrix of configs and interaction states and compares
+ * the pixels against the golden PNGs in {@code src/test/resources/com/prayermanager/golden}.
+ * Run with {@code -Dgolden.update=true} to (re)write the goldens after an intended visual change
+ * or for a new scenario; a scenario without a golden fails. Mismatches and per-scenario render times are written
+ * to {@code build/reports/golden}.
+ */
+@RunWith(Parameterized.class)
+public class OverlayGoldenImageTest
+{
+    private static final String GOLDEN_RESOURCE_DIR = "golden/";
+    private static final File GOLDEN_SOURCE_DIR = new File("src/test/resources/com/prayermanager/golden");
+
+    // Text antialiasing differs slightly between font installs
+    private static final int CHANNEL_TOLERANCE = 16;
+    private static final double MAX_DIFFERENT_PIXEL_RATIO = 0.002;
+
+    private static final int TIMED_FRAMES = 50;
+
+    private static final boolean UPDATE = Boolean.getBoolean("golden.update");
+    private static final File REPORT_DIR = new File(System.getProperty("golden.reportDir", "build/reports/golden"));
+
+    // Scenario name -> first frame ns, mean ns of the following frames
+    private static final Map<String, long[]> timings = new TreeMap<>();
+
+    private enum Target
+    {
+        PANEL,
+        TIMING
+    }
+
+    private static final class Scenario
+    {
+        private final String name;
+        private final Target target;
+        private final Consumer<HeadlessFixture> setup;
+
+        Scenario(String name, Target target, Consumer<HeadlessFixture> setup)
+        {
+            this.name = name;
+            this.target = target;
+            this.setup = setup;
+        }
+
+        @Override
+        public String toString()
+        {
+            return name;
+        }
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> scenarios()
+    {
+        List<Scenario> scenarios = new ArrayList<>();
+
+        scenarios.add(new Scenario("panel-default", Target.PANEL, fixture -> {}));
+        for (int columns : new int[]{3, 5, 8})
+        {
+            scenarios.add(new Scenario("panel-columns-" + columns, Target.PANEL,
+                fixture -> fixture.setConfig("gridColumns", columns)));
+        }
+        for (PrayerManagerConfig.ButtonSize size : PrayerManagerConfig.ButtonSize.values())
+        {
+            scenarios.add(new Scenario("panel-button-" + size.name().toLowerCase(), Target.PANEL,
+                fixture -> fixture.setConfig("quickPrayerButtonSize", size)));
+        }
+
+        // Each scheme at a level in a different threshold band
+        int[] points = {10, 30, 55, 70};
+        PrayerManagerConfig.PrayerBarColorScheme[] schemes = PrayerManagerConfig.PrayerBarColorScheme.values();
+        for (int i = 0; i < schemes.length; i++)
+        {
+            PrayerManagerConfig.PrayerBarColorScheme scheme = schemes[i];
+            int current = points[i % points.length];
+            scenarios.add(new Scenario("panel-scheme-" + scheme.name().toLowerCase() + "-" + current, Target.PANEL, fixture ->
+            {
+                fixture.setConfig("prayerPointsBarColor", scheme);
+                fixture.setPrayerPoints(current, 70);
+            }));
+        }
+
+        scenarios.add(new Scenario("panel-selected", Target.PANEL, fixture ->
+        {
+            fixture.setQuickPrayerSelected(Prayer.PIETY, true);
+            fixture.setQuickPrayerSelected(Prayer.PROTECT_FROM_MELEE, true);
+            fixture.setQuickPrayerActive(true);
+        }));
+        scenarios.add(new Scenario("panel-hover-tile", Target.PANEL,
+            fixture -> moveMouse(fixture, findPrayer(fixture, Prayer.PROTECT_FROM_MAGIC))));
+        scenarios.add(new Scenario("panel-hover-button", Target.PANEL, fixture ->
+        {
+            // Hover brightens each channel by a tenth, which leaves the default pure blue unchanged.
+            // The brightened colour is also only the transition target, without one it shows on the first frame
+            fixture.setConfig("quickPrayerButtonColor", new Color(100, 180, 230));
+            fixture.setConfig("enableSmoothTransitions", false);
+            moveMouse(fixture, findQuickPrayerButton(fixture));
+        }));
+        scenarios.add(new Scenario("panel-click-tile", Target.PANEL, fixture ->
+        {
+            // Without a transition the flash is fully visible on the first frame
+            fixture.setConfig("enableSmoothTransitions", false);
+            Point point = findPrayer(fixture, Prayer.EAGLE_EYE);
+            moveMouse(fixture, point);
+            fixture.getOverlay().handleMouseClick(fixture.mouseEvent(MouseEvent.MOUSE_CLICKED, point.x, point.y));
+        }));
+        scenarios.add(new Scenario("panel-drag", Target.PANEL, fixture ->
+        {
+            renderOnce(fixture);
+            Rectangle bounds = fixture.getOverlay().getBounds();
+            fixture.getOverlay().startDrag(new Point(bounds.x + 2, bounds.y + 2));
+            fixture.getOverlay().updateDrag(new Point(bounds.x + 32, bounds.y + 22));
+        }));
+        scenarios.add(new Scenario("panel-grid-hidden", Target.PANEL,
+            fixture -> fixture.setConfig("showPrayerGrid", false)));
+        scenarios.add(new Scenario("panel-filter-book-level", Target.PANEL, fixture ->
+        {
+            fixture.setConfig("gridActiveBookOnly", true);
+            fixture.setConfig("gridUnlockedOnly", true);
+            fixture.setConfig("gridQuickPrayersOnly", true);
+        }));
+        scenarios.add(new Scenario("panel-filter-custom", Target.PANEL,
+            fixture -> fixture.setConfig("gridCustomPrayers", "Piety, Protect from Magic, Rigour, Augury, Protect from Melee")));
+
+        scenarios.add(new Scenario("timing-default", Target.TIMING, fixture -> {}));
+        scenarios.add(new Scenario("timing-drag", Target.TIMING, fixture ->
+        {
+            Rectangle bounds = fixture.getTimingOverlay().getBounds();
+            fixture.getTimingOverlay().startDrag(new Point(bounds.x + 2, bounds.y + 2));
+            fixture.getTimingOverlay().updateDrag(new Point(bounds.x + 12, bounds.y - 8));
+        }));
+        // No ticks are simulated, so the history is empty
+        scenarios.add(new Scenario("timing-jitter-empty", Target.TIMING,
+            fixture -> fixture.setConfig("showTickJitter", true)));
+
+        List<Object[]> parameters = new ArrayList<>();
+        for (Scenario scenario : scenarios)
+        {
+            parameters.add(new Object[]{scenario});
+        }
+        return parameters;
+    }
+
+    private final Scenario scenario;
+
+    public OverlayGoldenImageTest(Scenario scenario)
+    {
+        this.scenario = scenario;
+    }
+
+    @Test
+    public void rendersLikeGolden() throws IOException
+    {
+        // Time stands still, so transitions, click feedback and the tick phase render the same every run
+        HeadlessFixture fixture = new HeadlessFixture(new VirtualClock());
+        scenario.setup.accept(fixture);
+
+        BufferedImage canvas = HeadlessFixture.createCanvas();
+        Graphics2D graphics = HeadlessFixture.createGraphics(canvas);
+        BufferedImage actual;
+        try
+        {
+            long start = System.nanoTime();
+            Dimension size = render(fixture, graphics);
+            long firstFrame = System.nanoTime() - start;
+            assertNotNull("Overlay rendered nothing", size);
+            actual = copy(canvas, size);
+
+            // Steady state cost, drawn over the same canvas after the golden frame was taken
+            start = System.nanoTime();
+            for (int i = 0; i < TIMED_FRAMES; i++)
+            {
+                render(fixture, graphics);
+            }
+            long steadyFrame = (System.nanoTime() - start) / TIMED_FRAMES;
+            synchronized (timings)
+            {
+                timings.put(scenario.name, new long[]{firstFrame, steadyFrame});
+            }
+        }
+        finally
+        {
+            graphics.dispose();
+        }
+
+        String fileName = scenario.name + ".png";
+        if (UPDATE)
+        {
+            GOLDEN_SOURCE_DIR.mkdirs();
+            ImageIO.write(actual, "png", new File(GOLDEN_SOURCE_DIR, fileName));
+            return;
+        }
+
+        BufferedImage golden;
+        try (InputStream in = OverlayGoldenImageTest.class.getResourceAsStream(GOLDEN_RESOURCE_DIR + fileName))
+        {
+            if (in == null)
+            {
+                fail("No golden " + GOLDEN_SOURCE_DIR + File.separator + fileName
+                    + ", run with -Dgolden.update=true to create it");
+            }
+            golden = ImageIO.read(in);
+        }
+
+        assertEquals("Size of " + scenario.name, golden.getWidth() + "x" + golden.getHeight(),
+            actual.getWidth() + "x" + actual.getHeight());
+
+        BufferedImage diff = new BufferedImage(actual.getWidth(), actual.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        int different = 0;
+        for (int y = 0; y < actual.getHeight(); y++)
+        {
+            for (int x = 0; x < actual.getWidth(); x++)
+            {
+                if (channelDistance(actual.getRGB(x, y), golden.getRGB(x, y)) > CHANNEL_TOLERANCE)
+                {
+                    different++;
+                    diff.setRGB(x, y, 0xFFFF00FF);
+                }
+            }
+        }
+
+        double ratio = (double) different / (actual.getWidth() * actual.getHeight());
+        if (ratio > MAX_DIFFERENT_PIXEL_RATIO)
+        {
+            REPORT_DIR.mkdirs();
+            ImageIO.write(actual, "png", new File(REPORT_DIR, scenario.name + "-actual.png"));
+            ImageIO.write(diff, "png", new File(REPORT_DIR, scenario.name + "-diff.png"));
+            fail(String.format("%s differs from its golden in %d pixels (%.3f%%), see %s",
+                scenario.name, different, ratio * 100, REPORT_DIR));
+        }
+    }
+
+    @AfterClass
+    public static void writeTimings() throws IOException
+    {
+        if (timings.isEmpty())
+        {
+            return;
+        }
+
+        REPORT_DIR.mkdirs();
+        try (PrintWriter out = new PrintWriter(new File(REPORT_DIR, "timings.csv"), StandardCharsets.UTF_8.name()))
+        {
+            out.println("scenario,first_frame_ns,steady_frame_ns");
+            for (Map.Entry<String, long[]> entry : timings.entrySet())
+            {
+                out.println(entry.getKey() + "," + entry.getValue()[0] + "," + entry.getValue()[1]);
+            }
+        }
+    }
+
+    private Dimension render(HeadlessFixture fixture, Graphics2D graphics)
+    {
+        return scenario.target == Target.PANEL
+            ? fixture.getOverlay().render(graphics)
+            : fixture.getTimingOverlay().render(graphics);
+    }
+
+    private static void renderOnce(HeadlessFixture fixture)
+    {
+        BufferedImage scratch = HeadlessFixture.createCanvas();
+        Graphics2D graphics = HeadlessFixture.createGraphics(scratch);
+        fixture.getOverlay().render(graphics);
+        graphics.dispose();
+    }
+
+    private static void moveMouse(HeadlessFixture fixture, Point point)
+    {
+        fixture.getOverlay().handleMouseMove(fixture.mouseEvent(MouseEvent.MOUSE_MOVED, point.x, point.y));
+    }
+
+    /**
+     * Canvas point a few pixels inside the prayer's tile, found through the overlay's own hit test.
+     */
+    private static Point findPrayer(HeadlessFixture fixture, Prayer prayer)
+    {
+        renderOnce(fixture);
+        Rectangle bounds = fixture.getOverlay().getBounds();
+        for (int y = bounds.y; y < bounds.y + bounds.height; y++)
+        {
+            for (int x = bounds.x; x < bounds.x + bounds.width; x++)
+            {
+                Point point = new Point(x + 4, y + 4);
+                if (fixture.getOverlay().getPrayerAtPoint(point) == prayer)
+                {
+                    return point;
+                }
+            }
+        }
+        throw new AssertionError(prayer + " is not on the grid");
+    }
+
+    private static Point findQuickPrayerButton(HeadlessFixture fixture)
+    {
+        renderOnce(fixture);
+        Rectangle bounds = fixture.getOverlay().getBounds();
+        for (int y = bounds.y; y < bounds.y + bounds.height; y++)
+        {
+            Point point = new Point(bounds.x + 4, y + 4);
+            if (fixture.getOverlay().isQuickPrayerButtonClicked(point))
+            {
+                return point;
+            }
+        }
+        throw new AssertionError("Quick prayer button is not shown");
+    }
+
+    private static BufferedImage copy(BufferedImage canvas, Dimension size)
+    {
+        BufferedImage image = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.drawImage(canvas, 0, 0, size.width, size.height, 0, 0, size.width, size.height, null);
+        g.dispose();
+        return image;
+    }
+
+    private static int channelDistance(int a, int b)
+    {
+        int distance = 0;
+        for (int shift = 0; shift < 32; shift += 8)
+        {
+            distance = Math.max(distance, Math.abs(((a >>> shift) & 0xFF) - ((b >>> shift) & 0xFF)));
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,116 @@
+package com.prayermanager;
+
+import net.runelite.api.Prayer;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Applying presets against a {@link HeadlessFixture}: which toggles are sent, in how many client
+ * thread tasks, and how they are confirmed or given up on.
+ */
+public class QuickPrayerPresetsTest
+{
+    private HeadlessFixture fixture;
+    private QuickPrayerPresets presets;
+
+    @Before
+    public void setUp()
+    {
+        fixture = new HeadlessFixture();
+        presets = fixture.getInstance(QuickPrayerPresets.class);
+    }
+
+    @Test
+    public void togglesOnlyDifferingPrayersInOneTask()
+    {
+        fixture.setQuickPrayerSelected(Prayer.PROTECT_FROM_MELEE, true);
+        fixture.setQuickPrayerSelected(Prayer.PIETY, true);
+        fixture.setQuickPrayerSelected(Prayer.RAPID_HEAL, true);
+        fixture.setConfig("preset1Prayers", "Protect from Magic, Piety, Rapid Heal");
+
+        int tasks = fixture.getClientThreadTaskCount();
+        int actions = fixture.getMenuActionCount();
+        presets.apply(0);
+
+        // Melee off and Magic on, Piety and Rapid Heal are already selected
+        assertEquals("Client thread tasks", tasks + 1, fixture.getClientThreadTaskCount());
+        assertEquals("Menu actions", actions + 2, fixture.getMenuActionCount());
+        assertEquals("Unconfirmed", bits(Prayer.PROTECT_FROM_MELEE, Prayer.PROTECT_FROM_MAGIC), presets.getUnconfirmedBits());
+    }
+
+    @Test
+    public void matchingSelectionSendsNothing()
+    {
+        fixture.setQuickPrayerSelected(Prayer.PIETY, true);
+        fixture.setConfig("preset1Prayers", "Piety");
+
+        int actions = fixture.getMenuActionCount();
+        presets.apply(0);
+
+        assertEquals("Menu actions", actions, fixture.getMenuActionCount());
+        assertEquals("Unconfirmed", 0L, presets.getUnconfirmedBits());
+    }
+
+    @Test
+    public void confirmsEachVarbitAsItArrives()
+    {
+        fixture.setQuickPrayerSelected(Prayer.PROTECT_FROM_MELEE, true);
+        fixture.setConfig("preset1Prayers", "Protect from Magic, Piety");
+        presets.apply(0);
+        assertEquals("Unconfirmed", bits(Prayer.PROTECT_FROM_MELEE, Prayer.PROTECT_FROM_MAGIC, Prayer.PIETY),
+            presets.getUnconfirmedBits());
+
+        fixture.setQuickPrayerSelected(Prayer.PROTECT_FROM_MAGIC, true);
+        assertEquals("After Magic", bits(Prayer.PROTECT_FROM_MELEE, Prayer.PIETY), presets.getUnconfirmedBits());
+
+        // A change the preset does not touch confirms nothing
+        fixture.setQuickPrayerSelected(Prayer.RAPID_HEAL, true);
+        assertEquals("After Rapid Heal", bits(Prayer.PROTECT_FROM_MELEE, Prayer.PIETY), presets.getUnconfirmedBits());
+
+        fixture.setQuickPrayerSelected(Prayer.PROTECT_FROM_MELEE, false);
+        assertEquals("After Melee", bits(Prayer.PIETY), presets.getUnconfirmedBits());
+
+        fixture.setQuickPrayerSelected(Prayer.PIETY, true);
+        assertEquals("After Piety", 0L, presets.getUnconfirmedBits());
+    }
+
+    @Test
+    public void givesUpAfterConfirmTimeout()
+    {
+        fixture.setConfig("preset1Prayers", "Piety");
+        presets.apply(0);
+
+        for (int tick = 0; tick < QuickPrayerPresets.CONFIRM_TIMEOUT_TICKS; tick++)
+        {
+            fixture.tick();
+            assertEquals("Waiting after tick " + (tick + 1), bits(Prayer.PIETY), presets.getUnconfirmedBits());
+        }
+
+        fixture.tick();
+        assertEquals("Unconfirmed after timeout", 0L, presets.getUnconfirmedBits());
+    }
+
+    @Test
+    public void dropsUnknownAndNonQuickPrayerNames()
+    {
+        fixture.setConfig("preset2Name", "Tank");
+        fixture.setConfig("preset2Prayers", "Piety, Not a prayer, RP_TRINITAS, , Protect Item");
+
+        QuickPrayerPresets.Preset preset = presets.getPreset(1);
+        assertNotNull("Preset", preset);
+        assertEquals("Name", "Tank", preset.getName());
+        assertEquals("Prayers", bits(Prayer.PIETY, Prayer.PROTECT_ITEM), preset.getSelectedBits());
+    }
+
+    private static long bits(Prayer... prayers)
+    {
+        long bits = 0;
+        for (Prayer prayer : prayers)
+        {
+            bits |= 1L << prayer.ordinal();
+        }
+        return bits;
+    }
+}
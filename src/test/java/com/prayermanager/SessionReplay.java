@@ -0,0 +1,303 @@
+package com.prayermanager;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.GameState;
+import net.runelite.client.ui.overlay.Overlay;
+
+/**
+ * Plays a {@link SessionRecorder} file back through a {@link HeadlessFixture}. Ticks, varbits, game
+ * state and prayer points go to the plugin's event handlers, mouse events to its mouse listener,
+ * and both overlays render to an offscreen canvas every {@code frameNanos} of recorded time. A
+ * {@link VirtualClock} follows the recording, so animations and the tick phase see the same times
+ * as in the original session whether the replay runs flat out or at real-time pace.
+ * <p>
+ * Recorded menu actions are what the plugin sent during the session. They are only counted and
+ * compared against the actions the replay makes the plugin send; preset hotkeys are not recorded,
+ * so actions they sent show up as missing. Overlay positions are not recorded either, the overlays
+ * sit where the fixture puts them; move them through {@link #getFixture()} before replaying clicks
+ * from a session with a different layout.
+ * <p>
+ * Run {@link #main(String[])} with a recording to reproduce a session or to time the render and
+ * input paths on real traffic.
+ */
+public class SessionReplay
+{
+    public enum Pace
+    {
+        AS_FAST_AS_POSSIBLE,
+        REAL_TIME
+    }
+
+    // The client's default frame rate
+    public static final long DEFAULT_FRAME_NANOS = TimeUnit.SECONDS.toNanos(1) / 50;
+
+    private static final GameState[] GAME_STATES = GameState.values();
+
+    private final Pace pace;
+    private final long frameNanos;
+    private final VirtualClock clock = new VirtualClock();
+    private final HeadlessFixture fixture = new HeadlessFixture(clock);
+    private final BufferedImage canvas = HeadlessFixture.createCanvas();
+    private final Graphics2D graphics = HeadlessFixture.createGraphics(canvas);
+
+    private final FrameTimeHistogram frameTimes = new FrameTimeHistogram();
+    private final FrameTimeHistogram eventTimes = new FrameTimeHistogram();
+    private long wallStart;
+    private int records;
+    private int unknownRecords;
+    private int frames;
+    private int recordedMenuActions;
+
+    public SessionReplay(Pace pace, long frameNanos)
+    {
+        this.pace = pace;
+        this.frameNanos = frameNanos;
+    }
+
+    public HeadlessFixture getFixture()
+    {
+        return fixture;
+    }
+
+    /**
+     * The canvas as of the last rendered frame.
+     */
+    public BufferedImage getCanvas()
+    {
+        return canvas;
+    }
+
+    public FrameTimeHistogram getFrameTimes()
+    {
+        return frameTimes;
+    }
+
+    public FrameTimeHistogram getEventTimes()
+    {
+        return eventTimes;
+    }
+
+    public void replay(File file) throws IOException
+    {
+        replay(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+    }
+
+    /**
+     * Replays a whole recording, header included.
+     */
+    public void replay(ByteBuffer recording) throws IOException
+    {
+        if (recording.remaining() < SessionRecorder.HEADER_SIZE || recording.getInt() != SessionRecorder.MAGIC)
+        {
+            throw new IOException("Not a session recording");
+        }
+
+        short version = recording.getShort();
+        int recordSize = recording.getShort();
+        recording.getLong(); // wall clock start, not needed to replay
+        if (version > SessionRecorder.FORMAT_VERSION || recordSize < SessionRecorder.RECORD_SIZE)
+        {
+            throw new IOException("Unsupported session recording version " + version + " with " + recordSize + " byte records");
+        }
+
+        wallStart = System.nanoTime();
+        long nextFrame = 0;
+        long time = 0;
+        while (recording.remaining() >= recordSize)
+        {
+            int start = recording.position();
+            time = recording.getLong();
+            int code = recording.get();
+            int arg = recording.get();
+            int a = recording.getShort();
+            int b = recording.getInt();
+            // Newer versions may append fields to every record
+            recording.position(start + recordSize);
+
+            while (nextFrame <= time)
+            {
+                renderFrame(nextFrame);
+                nextFrame += frameNanos;
+            }
+
+            advanceTo(time);
+            long eventStart = System.nanoTime();
+            apply(SessionRecorder.RecordType.fromCode(code), arg, a, b);
+            eventTimes.record(System.nanoTime() - eventStart);
+            records++;
+        }
+
+        // One more frame so the canvas shows the final state
+        renderFrame(Math.max(nextFrame, time));
+    }
+
+    private void apply(SessionRecorder.RecordType type, int button, int a, int b)
+    {
+        if (type == null)
+        {
+            unknownRecords++;
+            return;
+        }
+
+        switch (type)
+        {
+            case TICK:
+                fixture.tick();
+                break;
+            case MOUSE_PRESSED:
+                fixture.dispatchMouse(fixture.mouseEvent(MouseEvent.MOUSE_PRESSED, a, b, button));
+                break;
+            case MOUSE_RELEASED:
+                fixture.dispatchMouse(fixture.mouseEvent(MouseEvent.MOUSE_RELEASED, a, b, button));
+                break;
+            case MOUSE_CLICKED:
+                fixture.dispatchMouse(fixture.mouseEvent(MouseEvent.MOUSE_CLICKED, a, b, button));
+                break;
+            case MOUSE_MOVED:
+                fixture.dispatchMouse(fixture.mouseEvent(MouseEvent.MOUSE_MOVED, a, b, button));
+                break;
+            case MOUSE_DRAGGED:
+                fixture.dispatchMouse(fixture.mouseEvent(MouseEvent.MOUSE_DRAGGED, a, b, button));
+                break;
+            case MENU_ACTION:
+                recordedMenuActions++;
+                break;
+            case VARBIT:
+                fixture.setVarbit(b, a);
+                break;
+            case GAME_STATE:
+                if (a >= 0 && a < GAME_STATES.length)
+                {
+                    fixture.setGameState(GAME_STATES[a]);
+                }
+                break;
+            case PRAYER_POINTS:
+                fixture.setPrayerPoints(a, b);
+                break;
+        }
+    }
+
+    private void renderFrame(long time)
+    {
+        advanceTo(time);
+
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        graphics.setComposite(AlphaComposite.SrcOver);
+
+        long start = System.nanoTime();
+        render(fixture.getOverlay());
+        render(fixture.getTimingOverlay());
+        frameTimes.record(System.nanoTime() - start);
+        frames++;
+    }
+
+    // Like the overlay renderer: translate to the overlay's location, then let it draw at the origin
+    private void render(Overlay overlay)
+    {
+        Rectangle bounds = overlay.getBounds();
+        graphics.translate(bounds.x, bounds.y);
+        try
+        {
+            overlay.render(graphics);
+        }
+        finally
+        {
+            graphics.translate(-bounds.x, -bounds.y);
+        }
+    }
+
+    private void advanceTo(long time)
+    {
+        clock.advanceTo(time);
+        if (pace != Pace.REAL_TIME)
+        {
+            return;
+        }
+
+        long wait = wallStart + time - System.nanoTime();
+        if (wait > 0)
+        {
+            try
+            {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public int getRecordCount()
+    {
+        return records;
+    }
+
+    /**
+     * Records skipped because this version does not know their type.
+     */
+    public int getUnknownRecordCount()
+    {
+        return unknownRecords;
+    }
+
+    /**
+     * Menu actions the plugin sent in the recorded session.
+     */
+    public int getRecordedMenuActionCount()
+    {
+        return recordedMenuActions;
+    }
+
+    public String summary()
+    {
+        return String.format("%d records (%d unknown), %d frames in %d ms%n"
+                + "frame  p50=%dus p99=%dus max=%dus%n"
+                + "event  p50=%dus p99=%dus max=%dus%n"
+                + "menu actions recorded=%d replayed=%d",
+            records, unknownRecords, frames, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - wallStart),
+            frameTimes.getPercentile(50) / 1_000, frameTimes.getPercentile(99) / 1_000, frameTimes.getMax() / 1_000,
+            eventTimes.getPercentile(50) / 1_000, eventTimes.getPercentile(99) / 1_000, eventTimes.getMax() / 1_000,
+            recordedMenuActions, fixture.getMenuActionCount());
+    }
+
+    /**
+     * {@code SessionReplay <recording.pmrec> [--realtime] [--frame-ms=N]}
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length == 0)
+        {
+            System.err.println("Usage: SessionReplay <recording.pmrec> [--realtime] [--frame-ms=N]");
+            System.exit(1);
+        }
+
+        Pace pace = Pace.AS_FAST_AS_POSSIBLE;
+        long frameNanos = DEFAULT_FRAME_NANOS;
+        for (int i = 1; i < args.length; i++)
+        {
+            if (args[i].equals("--realtime"))
+            {
+                pace = Pace.REAL_TIME;
+            }
+            else if (args[i].startsWith("--frame-ms="))
+            {
+                frameNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(args[i].substring("--frame-ms=".length())));
+            }
+        }
+
+        SessionReplay replay = new SessionReplay(pace, frameNanos);
+        replay.replay(new File(args[0]));
+        System.out.println(replay.summary());
+    }
+}
@@ -0,0 +1,140 @@
+package com.prayermanager;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import net.runelite.api.GameState;
+import net.runelite.api.Prayer;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Writes recordings with {@link SessionRecorder}'s own encoding and plays them back through
+ * {@link SessionReplay}, so a change to one side of the format shows up here.
+ */
+public class SessionReplayTest
+{
+    private static final long TICK_NANOS = TickPhaseEstimator.NOMINAL_PERIOD_NANOS;
+    private static final int UNKNOWN_CODE = 15;
+
+    @Test
+    public void replaysRecordedSession() throws Exception
+    {
+        SessionReplay replay = new SessionReplay(SessionReplay.Pace.AS_FAST_AS_POSSIBLE, SessionReplay.DEFAULT_FRAME_NANOS);
+        HeadlessFixture fixture = replay.getFixture();
+        PrayerCatalog catalog = fixture.getPrayerCatalog();
+        int meleeVarbit = catalog.getQuickPrayerVarbit(Prayer.PROTECT_FROM_MELEE.ordinal());
+        int magicVarbit = catalog.getQuickPrayerVarbit(Prayer.PROTECT_FROM_MAGIC.ordinal());
+        Point tile = findToggleableTile(replay);
+        int startTicks = fixture.getClient().getTickCount();
+
+        ByteBuffer recording = ByteBuffer.allocate(SessionRecorder.HEADER_SIZE + 64 * SessionRecorder.RECORD_SIZE);
+        SessionRecorder.putHeader(recording, System.currentTimeMillis());
+        long time = 0;
+        SessionRecorder.putRecord(recording, time, SessionRecorder.RecordType.GAME_STATE, 0, GameState.LOGGED_IN.ordinal(), 0);
+        for (int tick = 1; tick <= 5; tick++)
+        {
+            time += TICK_NANOS;
+            SessionRecorder.putRecord(recording, time, SessionRecorder.RecordType.TICK, 0, 0, tick);
+        }
+
+        SessionRecorder.putRecord(recording, time + 1, SessionRecorder.RecordType.VARBIT, 0, 1, meleeVarbit);
+        SessionRecorder.putRecord(recording, time + 2, SessionRecorder.RecordType.VARBIT, 0, 1, magicVarbit);
+        SessionRecorder.putRecord(recording, time + 3, SessionRecorder.RecordType.VARBIT, 0, 0, magicVarbit);
+
+        // One click on a tile, and the menu action the plugin sent for it
+        time += TICK_NANOS / 2;
+        SessionRecorder.putRecord(recording, time, SessionRecorder.RecordType.MOUSE_PRESSED, 1, tile.x, tile.y);
+        SessionRecorder.putRecord(recording, time + 1, SessionRecorder.RecordType.MOUSE_RELEASED, 1, tile.x, tile.y);
+        SessionRecorder.putRecord(recording, time + 2, SessionRecorder.RecordType.MOUSE_CLICKED, 1, tile.x, tile.y);
+        SessionRecorder.putRecord(recording, time + 3, SessionRecorder.RecordType.MENU_ACTION, 0, 0, meleeVarbit);
+
+        // Written by a newer version, skipped
+        recording.putLong(time + 4).put((byte) UNKNOWN_CODE).put((byte) 0).putShort((short) 0).putInt(0);
+        SessionRecorder.putRecord(recording, time + 5, SessionRecorder.RecordType.PRAYER_POINTS, 0, 43, 70);
+        recording.flip();
+
+        replay.replay(recording);
+
+        assertEquals("Records", 15, replay.getRecordCount());
+        assertEquals("Unknown records", 1, replay.getUnknownRecordCount());
+        assertEquals("Ticks", startTicks + 5, fixture.getClient().getTickCount());
+
+        QuickPrayerState state = fixture.getQuickPrayerState();
+        assertTrue("Melee selected", state.isSelected(Prayer.PROTECT_FROM_MELEE));
+        assertFalse("Magic deselected", state.isSelected(Prayer.PROTECT_FROM_MAGIC));
+        assertEquals("Selection", 1L << Prayer.PROTECT_FROM_MELEE.ordinal(), state.getSelectedBits());
+
+        assertEquals("Recorded menu actions", 1, replay.getRecordedMenuActionCount());
+        assertEquals("Replayed menu actions", replay.getRecordedMenuActionCount(), fixture.getMenuActionCount());
+    }
+
+    @Test
+    public void skipsFieldsAppendedByNewerVersions() throws Exception
+    {
+        // Same records with four extra bytes each, as a later format version might write them
+        int recordSize = SessionRecorder.RECORD_SIZE + 4;
+        ByteBuffer recording = ByteBuffer.allocate(SessionRecorder.HEADER_SIZE + 3 * recordSize);
+        recording.putInt(SessionRecorder.MAGIC).putShort(SessionRecorder.FORMAT_VERSION)
+            .putShort((short) recordSize).putLong(0);
+        for (int tick = 1; tick <= 3; tick++)
+        {
+            SessionRecorder.putRecord(recording, tick * TICK_NANOS, SessionRecorder.RecordType.TICK, 0, 0, tick);
+            recording.putInt(-1);
+        }
+        recording.flip();
+
+        SessionReplay replay = new SessionReplay(SessionReplay.Pace.AS_FAST_AS_POSSIBLE, SessionReplay.DEFAULT_FRAME_NANOS);
+        int startTicks = replay.getFixture().getClient().getTickCount();
+        replay.replay(recording);
+
+        assertEquals("Records", 3, replay.getRecordCount());
+        assertEquals("Unknown records", 0, replay.getUnknownRecordCount());
+        assertEquals("Ticks", startTicks + 3, replay.getFixture().getClient().getTickCount());
+    }
+
+    @Test
+    public void rejectsOtherFiles()
+    {
+        ByteBuffer recording = ByteBuffer.allocate(SessionRecorder.HEADER_SIZE);
+        recording.putInt(0x89504E47).putShort((short) 1).putShort((short) SessionRecorder.RECORD_SIZE).putLong(0);
+        recording.flip();
+
+        try
+        {
+            new SessionReplay(SessionReplay.Pace.AS_FAST_AS_POSSIBLE, SessionReplay.DEFAULT_FRAME_NANOS).replay(recording);
+            fail("Replayed a file without the recording magic");
+        }
+        catch (IOException expected)
+        {
+            // Rejected before any record was applied
+        }
+    }
+
+    // Renders one frame so the overlay has a layout, then scans it for a tile the plugin can toggle
+    private static Point findToggleableTile(SessionReplay replay)
+    {
+        HeadlessFixture fixture = replay.getFixture();
+        fixture.getOverlay().render(HeadlessFixture.createGraphics(replay.getCanvas()));
+        Rectangle bounds = fixture.getOverlay().getBounds();
+        QuickPrayerActions actions = fixture.getInstance(QuickPrayerActions.class);
+        for (int y = bounds.y; y < bounds.y + bounds.height; y += 2)
+        {
+            for (int x = bounds.x; x < bounds.x + bounds.width; x += 2)
+            {
+                Point point = new Point(x, y);
+                Prayer prayer = fixture.getOverlay().getPrayerAtPoint(point);
+                if (prayer != null && actions.canToggle(prayer.ordinal()))
+                {
+                    return point;
+                }
+            }
+        }
+        fail("No toggleable prayer tile in " + bounds);
+        return null;
+    }
+}
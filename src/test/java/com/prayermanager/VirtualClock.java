@@ -0,0 +1,35 @@
+package com.prayermanager;
+
+/**
+ * {@link PluginClock} that only moves when told to. Starts at the wall clock time it was created
+ * at, so millisecond timestamps stay plausible, and counts nanoseconds from zero.
+ */
+public class VirtualClock extends PluginClock
+{
+    private final long startMillis = System.currentTimeMillis();
+    private long nanos;
+
+    @Override
+    public long currentTimeMillis()
+    {
+        return startMillis + nanos / 1_000_000;
+    }
+
+    @Override
+    public long nanoTime()
+    {
+        return nanos;
+    }
+
+    /**
+     * Moves the clock to {@code nanos} after its start. Time never runs backwards, earlier values
+     * are ignored.
+     */
+    public void advanceTo(long nanos)
+    {
+        if (nanos > this.nanos)
+        {
+            this.nanos = nanos;
+        }
+    }
+}